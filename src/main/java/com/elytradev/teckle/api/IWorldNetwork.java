@@ -167,4 +167,14 @@ public interface IWorldNetwork extends INBTSerializable<NBTTagCompound>, ITickab
      * @return the network's id.
      */
     UUID getNetworkID();
+
+    /**
+     * Checks if the network has work to do on its next update, networks that don't are skipped by the database
+     * until they're marked active again.
+     *
+     * @return true if the network should keep being updated, defaults to true.
+     */
+    default boolean requiresUpdate() {
+        return true;
+    }
 }
@@ -24,16 +24,15 @@ import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkTraveller;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkNode;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import net.minecraft.item.EnumDyeColor;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.INBTSerializable;
 
 import javax.annotation.Nullable;
-import java.lang.reflect.Constructor;
 import java.util.HashMap;
 import java.util.Objects;
 
@@ -64,17 +63,17 @@ public abstract class WorldNetworkTile implements INBTSerializable<NBTTagCompoun
 
     @Nullable
     public static WorldNetworkTile create(IWorldNetwork network, BlockPos pos, EnumFacing face, NBTTagCompound serializedData) {
-        ResourceLocation id = new ResourceLocation(serializedData.getString("id"));
-        Class<? extends WorldNetworkTile> tileClazz = NetworkTileRegistry.getNetworkTile(id);
-        WorldNetworkTile createdTile = null;
-        try {
-            Constructor<? extends WorldNetworkTile> constructor = tileClazz.getConstructor(World.class, BlockPos.class, EnumFacing.class);
-            createdTile = constructor.newInstance(network.getWorld(), pos, face);
-        } catch (NoSuchMethodException e) {
-            TeckleLog.error("Unable to find constructor with world parameter for {}, the network tile will not be created...", tileClazz.getName());
+        String id = serializedData.getString("id");
+        NetworkTileRegistry.Factory factory = NetworkTileRegistry.getFactory(id);
+        if (factory == null) {
+            TeckleLog.error("No network tile is registered with the id {}, the network tile will not be created...", id);
             return null;
+        }
+        WorldNetworkTile createdTile;
+        try {
+            createdTile = factory.create(network.getWorld(), pos, face);
         } catch (Exception e) {
-            TeckleLog.error("Failed to instantiate {}, the network tile will be skipped.", tileClazz.getName());
+            TeckleLog.error("Failed to instantiate {}, the network tile will be skipped.", id);
             e.printStackTrace();
             return null;
         }
@@ -181,6 +180,36 @@ public abstract class WorldNetworkTile implements INBTSerializable<NBTTagCompoun
      */
     public abstract boolean canAcceptTraveller(WorldNetworkTraveller traveller, EnumFacing from);
 
+    /**
+     * Get how much of canAcceptTraveller depends on the traveller, lets routers skip the call for nodes that don't need it.
+     *
+     * @return the acceptance class of this tile, dynamic unless overridden.
+     */
+    public AcceptanceClass getAcceptanceClass() {
+        return AcceptanceClass.DYNAMIC;
+    }
+
+    /**
+     * The colour travellers need to enter this tile, only used when the acceptance class is colour gated.
+     *
+     * @return the required colour, or null if any colour is accepted.
+     */
+    @Nullable
+    public EnumDyeColor getAcceptanceColour() {
+        return null;
+    }
+
+    /**
+     * Check if a traveller can pass a colour gate, uncoloured travellers pass any gate.
+     *
+     * @param colour    the colour of the gate, null if there is none.
+     * @param traveller the traveller to check.
+     * @return true if the traveller can pass.
+     */
+    public static boolean acceptsColour(@Nullable EnumDyeColor colour, WorldNetworkTraveller traveller) {
+        return colour == null || !traveller.data.hasKey("colour") || colour.getMetadata() == traveller.data.getInteger("colour");
+    }
+
     /**
      * Can this node be connected to from the given side?
      *
@@ -224,6 +253,27 @@ public abstract class WorldNetworkTile implements INBTSerializable<NBTTagCompoun
     public void onNodeRemoved(WorldNetworkNode removedNode) {
     }
 
+    /**
+     * How fast travellers move through this tile compared to a normal tube.
+     *
+     * @return the speed multiplier, 1 for normal speed.
+     */
+    public float getSpeedMultiplier() {
+        return 1F;
+    }
+
+    /**
+     * Describes what canAcceptTraveller depends on.
+     */
+    public enum AcceptanceClass {
+        // Accepts every traveller.
+        STATIC,
+        // Accepts uncoloured travellers and travellers matching the acceptance colour.
+        COLOUR_GATED,
+        // Depends on the traveller or tile state, canAcceptTraveller has to be called.
+        DYNAMIC
+    }
+
     /**
      * The output face of the tile, only applies to tiles that add things to networks.
      *
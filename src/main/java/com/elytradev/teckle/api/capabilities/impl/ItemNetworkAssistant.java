@@ -22,10 +22,12 @@ import com.elytradev.teckle.api.capabilities.IWorldNetworkAssistant;
 import com.elytradev.teckle.api.capabilities.WorldNetworkTile;
 import com.elytradev.teckle.common.TeckleLog;
 import com.elytradev.teckle.common.helper.CapabilityHelper;
+import com.elytradev.teckle.common.network.messages.clientbound.TravellerDataMessage;
 import com.elytradev.teckle.common.worldnetwork.common.DropActions;
 import com.elytradev.teckle.common.worldnetwork.common.WorldNetwork;
 import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkDatabase;
 import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkTraveller;
+import com.elytradev.teckle.common.worldnetwork.common.node.NodeContainer;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkEntryPoint;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkNode;
 import com.elytradev.teckle.common.worldnetwork.item.ItemNetworkEndpoint;
@@ -198,6 +200,19 @@ public class ItemNetworkAssistant implements IWorldNetworkAssistant<ItemStack> {
             } else {
                 // A node is present, check if it's still valid in this network.
                 checkNeighbourValidity(world, neighbour, face, thisNetworkTile);
+                // Inventories update their neighbours when their contents change, failed insertions may succeed now.
+                // Only endpoints at the changed position are affected, and the network's own insertions only fill them.
+                if (!(network instanceof WorldNetwork && ((WorldNetwork) network).isDelivering())) {
+                    boolean endpointChanged = false;
+                    for (NodeContainer container : network.getNodeContainersAtPosition(neighbour)) {
+                        if (container.getNode() instanceof ItemNetworkEndpoint) {
+                            ((ItemNetworkEndpoint) container.getNode()).markContentsChanged();
+                            endpointChanged = true;
+                        }
+                    }
+                    if (endpointChanged && network instanceof WorldNetwork)
+                        ((WorldNetwork) network).markContentsChanged();
+                }
             }
         } catch (Exception e) {
             TeckleLog.error("damnit - onNodeNeighbourChange. {}", e);
@@ -271,6 +286,38 @@ public class ItemNetworkAssistant implements IWorldNetworkAssistant<ItemStack> {
         }
     }
 
+    /**
+     * Add the stack to a traveller that just left the entry point with the same item, if it has room for it.
+     *
+     * @return true if the stack joined a traveller.
+     */
+    private boolean joinConvoy(WorldNetworkEntryPoint entryPoint, NBTTagCompound data, ItemStack stack,
+                               BiPredicate<WorldNetworkNode, EnumFacing> endpointPredicate, boolean simulate) {
+        WorldNetworkTraveller leader = entryPoint.getConvoyLeader(data, endpointPredicate);
+        if (leader == null)
+            return false;
+
+        ItemStack leaderStack = new ItemStack(leader.data.getCompoundTag("stack"));
+        int count = leaderStack.getCount() + stack.getCount();
+        if (count > leaderStack.getMaxStackSize())
+            return false;
+        // A busy network turns the stack away the same as it would a new traveller.
+        if (!((WorldNetwork) entryPoint.getNetwork()).admitTraveller(entryPoint, simulate))
+            return false;
+
+        if (!simulate) {
+            World world = entryPoint.getNetwork().getWorld();
+            // Clients only know the leader by its old data, replace it with the grown stack.
+            new TravellerDataMessage(TravellerDataMessage.Action.UNREGISTER, leader).sendToAllWatching(world, leader.currentNode.getPosition());
+            leaderStack.setCount(count);
+            ((WorldNetwork) entryPoint.getNetwork()).updateTravellerData(leader,
+                    leaderData -> leaderData.setTag("stack", leaderStack.serializeNBT()));
+            new TravellerDataMessage(TravellerDataMessage.Action.REGISTER, leader, leader.currentNode.getPosition(),
+                    leader.previousNode.getPosition()).sendToAllWatching(world, entryPoint.getPosition());
+        }
+        return true;
+    }
+
     @Nonnull
     @Override
     public ItemStack insertData(WorldNetworkEntryPoint entryPoint, BlockPos insertInto, ItemStack insertData,
@@ -289,6 +336,9 @@ public class ItemNetworkAssistant implements IWorldNetworkAssistant<ItemStack> {
             NBTTagCompound tagCompound = new NBTTagCompound();
             tagCompound.setTag("stack", insertData.serializeNBT());
             additionalData.forEach(tagCompound::setTag);
+            if (joinConvoy(entryPoint, tagCompound, insertData, endpointPredicate, simulate))
+                return ItemStack.EMPTY;
+
             WorldNetworkTraveller traveller = entryPoint.addTraveller(tagCompound, !simulate);
             traveller.setEndpointPredicate(endpointPredicate);
             if (simulate)
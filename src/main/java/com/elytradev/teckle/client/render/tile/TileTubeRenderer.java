@@ -90,7 +90,7 @@ public class TileTubeRenderer extends TileEntitySpecialRenderer<TileItemTube> {
         Vec3d offset = new Vec3d(facing.getDirectionVec());
         // Smooth the variables out.
         float dataTravelledOffset = traveller.travelledDistance - 0.5F;
-        float lastTravelled = dataTravelledOffset - (1F / 10F);
+        float lastTravelled = dataTravelledOffset - traveller.getSpeed();
         double newX = (lastTravelled * offset.x) + ((dataTravelledOffset * offset.x) - (lastTravelled * offset.x)) * partialTicks;
         double newY = (lastTravelled * offset.y) + ((dataTravelledOffset * offset.y) - (lastTravelled * offset.y)) * partialTicks;
         double newZ = (lastTravelled * offset.z) + ((dataTravelledOffset * offset.z) - (lastTravelled * offset.z)) * partialTicks;
@@ -59,12 +59,16 @@ public class ClientTravellerManager {
 
                     if (CapabilityWorldNetworkTile.isTileNetworked(tileAtPrev))
                         CapabilityWorldNetworkTile.getTileNetworked(tileAtPrev).removeClientTraveller(traveller.data);
-                    if (CapabilityWorldNetworkTile.isTileNetworked(tileAtCur))
+                    if (CapabilityWorldNetworkTile.isTileNetworked(tileAtCur)) {
                         CapabilityWorldNetworkTile.getTileNetworked(tileAtCur).addClientTraveller(traveller);
+                        traveller.setSpeedMultiplier(CapabilityWorldNetworkTile.getTileNetworked(tileAtCur).getSpeedMultiplier());
+                    } else {
+                        traveller.setSpeedMultiplier(1F);
+                    }
                 }
             }
 
-            traveller.travelledDistance += (1F / 10F);
+            traveller.travelledDistance += traveller.getSpeed();
         }
 
         // Remove any queued travellers.
@@ -129,8 +133,10 @@ public class ClientTravellerManager {
         World clientWorld = Minecraft.getMinecraft().world;
         TileEntity tileAtCur = clientWorld.getTileEntity(value.currentNode.getPosition());
 
-        if (CapabilityWorldNetworkTile.isTileNetworked(tileAtCur))
+        if (CapabilityWorldNetworkTile.isTileNetworked(tileAtCur)) {
             CapabilityWorldNetworkTile.getTileNetworked(tileAtCur).addClientTraveller(value);
+            value.setSpeedMultiplier(CapabilityWorldNetworkTile.getTileNetworked(tileAtCur).getSpeedMultiplier());
+        }
 
         return travellers.put(key.getUniqueId("id"), value);
     }
@@ -20,9 +20,42 @@ public class TeckleConfiguration extends ConcreteConfig {
     @ConfigValue(type = Property.Type.BOOLEAN, category = "misc", comment = "Determines if the alloy furnace will import all available furnace recipes.")
     public boolean importFurnaceRecipes = true;
 
+    @ConfigValue(type = Property.Type.INTEGER, category = "misc", comment = "Determines the amount of ticks between sweeps of the machine inventory pool for handlers that no longer have an owner.")
+    public int stackPoolSweepInterval = 1200;
+
+    @ConfigValue(type = Property.Type.INTEGER, category = "misc", comment = "The amount of machine inventory pool entries checked each tick while a sweep is running.")
+    public int stackPoolSweepBatch = 64;
+
     @ConfigValue(type = Property.Type.INTEGER, category = "worldnetwork", comment = "Determines the amount of ticks that pass between cleaning a network database.")
     public int databaseCleaningCooldown = 160;
 
+    @ConfigValue(type = Property.Type.BOOLEAN, category = "worldnetwork", comment = "Networks with every node in an unloaded chunk are serialized and dropped from memory on cleaning, they're restored once one of their tiles loads.")
+    public boolean coldNetworkStorage = true;
+
+    @ConfigValue(type = Property.Type.INTEGER, category = "worldnetwork", comment = "The amount of milliseconds each dimension can spend per tick on deferred network work like repaths, listener updates and loading travellers.")
+    public int networkTickBudget = 5;
+
+    @ConfigValue(type = Property.Type.BOOLEAN, category = "worldnetwork", comment = "Searches for traveller reroutes on worker threads, travellers wait at their current node until a route is found.")
+    public boolean asyncPathfinding = false;
+
+    @ConfigValue(type = Property.Type.INTEGER, category = "worldnetwork", comment = "The most ticks an entry point waits before searching again for an item no endpoint accepted, 0 searches every time.")
+    public int failedRouteBackoffLimit = 64;
+
+    @ConfigValue(type = Property.Type.INTEGER, category = "worldnetwork", comment = "The amount of ticks an endpoint trusts the slot it last inserted an item into, 0 checks every slot every time.")
+    public int endpointSlotCacheTicks = 20;
+
+    @ConfigValue(type = Property.Type.INTEGER, category = "worldnetwork", comment = "The amount of ticks identical items can join a traveller that just left an entry point instead of travelling separately, 0 disables this.")
+    public int convoyWindow = 4;
+
+    @ConfigValue(type = Property.Type.INTEGER, category = "worldnetwork", comment = "The most ticks an endpoint holds room for a traveller routed to it, 0 disables reservations.")
+    public int endpointReservationTimeout = 600;
+
+    @ConfigValue(type = Property.Type.INTEGER, category = "worldnetwork", comment = "The most travellers a network carries at once, machines keep items in their buffers while it's full. 0 removes the limit.")
+    public int networkTravellerLimit = 512;
+
+    @ConfigValue(type = Property.Type.INTEGER, category = "worldnetwork", comment = "The routing cost added for each traveller that has recently been passing through a node, spreads items over parallel routes. 0 routes by distance only.")
+    public int congestionRoutingWeight = 0;
+
     @ConfigValue(type = Property.Type.BOOLEAN, category = "advanced", comment = "Disables ore checks when Teckle is launcing, only disable if you plan to replace default recipes." +
             " WARNING: Alloy Recipes are currently hardcoded and no system is currently im place to remove them without another mod interaction!")
     public boolean skipOreChecks = false;
@@ -118,15 +118,15 @@ public class TeckleObjects {
         GameRegistry.registerTileEntity(TileRetriever.class, "teckleRetriever");
         GameRegistry.registerTileEntity(TileBeamQuarry.class, "teckleRetriever");
 
-        NetworkTileRegistry.registerNetworkTile("teckle", "itemTube", NetworkTileItemTube.class);
-        NetworkTileRegistry.registerNetworkTile("teckle", "filter", NetworkTileFilter.class);
-        NetworkTileRegistry.registerNetworkTile("teckle", "transposer", NetworkTileTransposer.class);
-        NetworkTileRegistry.registerNetworkTile("teckle", "sortingmachineIn", NetworkTileSortingMachineInput.class);
-        NetworkTileRegistry.registerNetworkTile("teckle", "sortingmachineOut", NetworkTileSortingMachineOutput.class);
-        NetworkTileRegistry.registerNetworkTile("teckle", "retrieverIn", NetworkTileRetrieverInput.class);
-        NetworkTileRegistry.registerNetworkTile("teckle", "retrieverOut", NetworkTileRetrieverOutput.class);
-        NetworkTileRegistry.registerNetworkTile("teckle", "beamquarry", NetworkTileBeamQuarry.class);
-        NetworkNodeRegistry.registerNetworkNode("teckle", "itemendpoint", ItemNetworkEndpoint.class);
+        NetworkTileRegistry.registerNetworkTile("teckle", "itemTube", NetworkTileItemTube.class, NetworkTileItemTube::new);
+        NetworkTileRegistry.registerNetworkTile("teckle", "filter", NetworkTileFilter.class, NetworkTileFilter::new);
+        NetworkTileRegistry.registerNetworkTile("teckle", "transposer", NetworkTileTransposer.class, NetworkTileTransposer::new);
+        NetworkTileRegistry.registerNetworkTile("teckle", "sortingmachineIn", NetworkTileSortingMachineInput.class, NetworkTileSortingMachineInput::new);
+        NetworkTileRegistry.registerNetworkTile("teckle", "sortingmachineOut", NetworkTileSortingMachineOutput.class, NetworkTileSortingMachineOutput::new);
+        NetworkTileRegistry.registerNetworkTile("teckle", "retrieverIn", NetworkTileRetrieverInput.class, NetworkTileRetrieverInput::new);
+        NetworkTileRegistry.registerNetworkTile("teckle", "retrieverOut", NetworkTileRetrieverOutput.class, NetworkTileRetrieverOutput::new);
+        NetworkTileRegistry.registerNetworkTile("teckle", "beamquarry", NetworkTileBeamQuarry.class, NetworkTileBeamQuarry::new);
+        NetworkNodeRegistry.registerNetworkNode("teckle", "itemendpoint", ItemNetworkEndpoint.class, ItemNetworkEndpoint::new);
 
         // Crash if there's missing ores.
         boolean foundSilver = !OreDictionary.getOres("ingotSilver").isEmpty();
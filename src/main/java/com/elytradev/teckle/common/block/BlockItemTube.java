@@ -26,6 +26,7 @@ import com.elytradev.teckle.common.block.property.UnlistedBool;
 import com.elytradev.teckle.common.block.property.UnlistedEnum;
 import com.elytradev.teckle.common.helper.CapabilityHelper;
 import com.elytradev.teckle.common.tile.TileItemTube;
+import com.elytradev.teckle.common.tile.TubeTier;
 import com.google.common.collect.Maps;
 import net.minecraft.block.BlockContainer;
 import net.minecraft.block.material.Material;
@@ -35,6 +36,7 @@ import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Items;
+import net.minecraft.inventory.InventoryHelper;
 import net.minecraft.item.EnumDyeColor;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
@@ -46,6 +48,7 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.property.ExtendedBlockState;
 import net.minecraftforge.common.property.IExtendedBlockState;
 import net.minecraftforge.common.property.IUnlistedProperty;
+import net.minecraftforge.items.ItemHandlerHelper;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -192,11 +195,30 @@ public class BlockItemTube extends BlockContainer implements IResourceHolder {
     @Override
     public boolean onBlockActivated(World worldIn, BlockPos pos, IBlockState state, EntityPlayer playerIn, EnumHand hand, EnumFacing facing, float hitX, float hitY, float hitZ) {
         if (!worldIn.isRemote) {
-            if (Objects.equals(playerIn.getHeldItem(hand).getItem(), Items.MILK_BUCKET)) {
+            ItemStack heldItem = playerIn.getHeldItem(hand);
+            if (Objects.equals(heldItem.getItem(), Items.MILK_BUCKET)) {
                 if (worldIn.getTileEntity(pos) instanceof TileItemTube) {
                     ((TileItemTube) worldIn.getTileEntity(pos)).setColour(null);
                 }
             }
+
+            TubeTier tier = TubeTier.byUpgradeItem(heldItem.getItem());
+            if (tier != null && worldIn.getTileEntity(pos) instanceof TileItemTube) {
+                TileItemTube tube = (TileItemTube) worldIn.getTileEntity(pos);
+                // Tubes only go up a tier, the upgrade item of the tier being replaced is handed back.
+                if (tier.ordinal() > tube.getTier().ordinal()) {
+                    TubeTier oldTier = tube.getTier();
+                    tube.setTier(tier);
+                    tube.markDirty();
+                    if (!playerIn.capabilities.isCreativeMode) {
+                        heldItem.shrink(1);
+                        if (oldTier.upgradeItem != null)
+                            ItemHandlerHelper.giveItemToPlayer(playerIn, new ItemStack(oldTier.upgradeItem));
+                    }
+                    worldIn.notifyBlockUpdate(pos, state, state, 4);
+                    return true;
+                }
+            }
         }
 
         return super.onBlockActivated(worldIn, pos, state, playerIn, hand, facing, hitX, hitY, hitZ);
@@ -222,6 +244,11 @@ public class BlockItemTube extends BlockContainer implements IResourceHolder {
     @Override
     public void breakBlock(World worldIn, BlockPos pos, IBlockState state) {
         TileEntity tileAtPos = worldIn.getTileEntity(pos);
+        if (tileAtPos instanceof TileItemTube) {
+            TubeTier tier = ((TileItemTube) tileAtPos).getTier();
+            if (tier.upgradeItem != null)
+                InventoryHelper.spawnItemStack(worldIn, pos.getX(), pos.getY(), pos.getZ(), new ItemStack(tier.upgradeItem));
+        }
         getNetworkHelper(worldIn).onNodeBroken(worldIn, pos);
 
         // Call super after we're done so we still have access to the tile.
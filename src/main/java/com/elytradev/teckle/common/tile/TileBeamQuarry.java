@@ -105,6 +105,7 @@ public class TileBeamQuarry extends TileNetworkMember implements ITickable, IEle
             this.topNetworkTile.bufferData = this.bufferData;
             this.topNetworkTile.bufferID = this.bufferID;
 
+            retainPoolEntries(bufferData, junkSupply);
             this.tileEntityInvalid = false;
 
             if (FMLCommonHandler.instance().getEffectiveSide().isServer()) {
@@ -118,6 +119,7 @@ public class TileBeamQuarry extends TileNetworkMember implements ITickable, IEle
         } catch (Exception e) {
             TeckleLog.error("Failed to validate beam quarry. {}", e);
         }
+        invalidateNodeBindings();
     }
 
     @Override
@@ -95,10 +95,12 @@ public class TileFilter extends TileTransposer implements ITickable, IElementPro
             this.networkTile.filterID = this.filterID;
             this.networkTile.bufferID = this.bufferID;
 
+            retainPoolEntries(bufferData, filterData);
             this.tileEntityInvalid = false;
         } catch (Exception e) {
             TeckleLog.error("Failed to validate transposer. {}", e);
         }
+        invalidateNodeBindings();
     }
 
     @Override
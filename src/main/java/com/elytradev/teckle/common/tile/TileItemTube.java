@@ -43,6 +43,7 @@ import java.util.UUID;
 public class TileItemTube extends TileNetworkMember {
 
     private EnumDyeColor colour = null;
+    private TubeTier tier = TubeTier.NORMAL;
     private NetworkTileItemTube networkTile;
 
     public EnumDyeColor getColour() {
@@ -51,6 +52,18 @@ public class TileItemTube extends TileNetworkMember {
 
     public void setColour(EnumDyeColor colour) {
         this.colour = colour;
+        if (world != null && !world.isRemote && getNetworkTile() != null)
+            getNetworkTile().onColourChanged(colour);
+    }
+
+    public TubeTier getTier() {
+        return tier;
+    }
+
+    public void setTier(TubeTier tier) {
+        this.tier = tier;
+        if (world != null && !world.isRemote && getNetworkTile() != null)
+            getNetworkTile().onTierChanged(tier);
     }
 
     public NetworkTileItemTube getNetworkTile() {
@@ -66,6 +79,14 @@ public class TileItemTube extends TileNetworkMember {
         if (getNetworkTile() == null) {
             this.setNetworkTile(new NetworkTileItemTube(this));
         }
+        invalidateNodeBindings();
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (world != null && !world.isRemote && getNetworkTile() != null)
+            WorldNetworkDatabase.cancelNeighbourLinks(getNetworkTile());
     }
 
     @Nullable
@@ -82,6 +103,7 @@ public class TileItemTube extends TileNetworkMember {
         } else {
             tagCompound.removeTag("colour");
         }
+        tagCompound.setInteger("tier", tier.ordinal());
 
         return tagCompound;
     }
@@ -94,6 +116,7 @@ public class TileItemTube extends TileNetworkMember {
     @Override
     public void handleUpdateTag(NBTTagCompound tag) {
         this.colour = !tag.hasKey("colour") ? null : EnumDyeColor.byMetadata(tag.getInteger("colour"));
+        this.tier = TubeTier.byId(tag.getInteger("tier"));
         super.readFromNBT(tag);
     }
 
@@ -106,6 +129,7 @@ public class TileItemTube extends TileNetworkMember {
     public void readFromNBT(NBTTagCompound tag) {
         super.readFromNBT(tag);
         this.colour = !tag.hasKey("colour") ? null : EnumDyeColor.byMetadata(tag.getInteger("colour"));
+        this.tier = TubeTier.byId(tag.getInteger("tier"));
 
         if (FMLCommonHandler.instance().getEffectiveSide().isServer()) {
             UUID networkID = tag.hasUniqueId("networkID") ? tag.getUniqueId("networkID") : null;
@@ -139,6 +163,7 @@ public class TileItemTube extends TileNetworkMember {
         } else {
             tag.removeTag("colour");
         }
+        tag.setInteger("tier", tier.ordinal());
 
         if (FMLCommonHandler.instance().getEffectiveSide().isServer()) {
             tag.setInteger("databaseID", getWorld().provider.getDimension());
@@ -190,6 +215,7 @@ public class TileItemTube extends TileNetworkMember {
         return "TileItemTube{" +
                 "pos=" + pos +
                 ", colour=" + colour +
+                ", tier=" + tier +
                 ", networkTile=" + networkTile +
                 '}';
     }
@@ -82,10 +82,12 @@ public class TileTransposer extends TileNetworkMember implements ITickable {
             this.getNetworkTile().bufferData = this.bufferData;
             this.getNetworkTile().bufferID = this.bufferID;
 
+            retainPoolEntries(bufferData);
             this.tileEntityInvalid = false;
         } catch (Exception e) {
             TeckleLog.error("Failed to validate transposer. {}", e);
         }
+        invalidateNodeBindings();
     }
 
 
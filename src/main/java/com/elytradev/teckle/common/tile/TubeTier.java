@@ -0,0 +1,53 @@
+/*
+ *    Copyright 2017 Benjamin K (darkevilmac)
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.elytradev.teckle.common.tile;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+
+import javax.annotation.Nullable;
+
+/**
+ * Speed tiers for item tubes, a tube is upgraded by using the tier's upgrade item on it.
+ */
+public enum TubeTier {
+    NORMAL(1F, null),
+    ACCELERATED(2F, Items.REDSTONE),
+    PRESSURISED(4F, Items.GLOWSTONE_DUST);
+
+    public final float speedMultiplier;
+    @Nullable
+    public final Item upgradeItem;
+
+    TubeTier(float speedMultiplier, @Nullable Item upgradeItem) {
+        this.speedMultiplier = speedMultiplier;
+        this.upgradeItem = upgradeItem;
+    }
+
+    public static TubeTier byId(int id) {
+        return id >= 0 && id < values().length ? values()[id] : NORMAL;
+    }
+
+    @Nullable
+    public static TubeTier byUpgradeItem(Item item) {
+        for (TubeTier tier : values()) {
+            if (tier.upgradeItem != null && tier.upgradeItem == item)
+                return tier;
+        }
+        return null;
+    }
+}
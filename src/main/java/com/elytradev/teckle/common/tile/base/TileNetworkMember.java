@@ -25,7 +25,9 @@ import com.elytradev.teckle.api.capabilities.CapabilityWorldNetworkTile;
 import com.elytradev.teckle.api.capabilities.IWorldNetworkAssistant;
 import com.elytradev.teckle.api.capabilities.WorldNetworkTile;
 import com.elytradev.teckle.common.TeckleMod;
+import com.elytradev.teckle.common.tile.inv.pool.AdvancedStackHandlerEntry;
 import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkTraveller;
+import com.elytradev.teckle.common.worldnetwork.common.node.PositionData;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkNode;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
@@ -50,6 +52,7 @@ public abstract class TileNetworkMember extends TileEntity {
     protected Object probeCapability;
 
     private boolean isJammed = false;
+    private AdvancedStackHandlerEntry[] poolEntries = new AdvancedStackHandlerEntry[0];
 
     @Nullable
     public IWorldNetworkAssistant getNetworkAssistant(@Nonnull Class type) {
@@ -73,6 +76,45 @@ public abstract class TileNetworkMember extends TileEntity {
         return super.hasCapability(capability, facing);
     }
 
+    /**
+     * Claim the pool entries used by this tile so the pool doesn't free them, releases any previously claimed entries.
+     *
+     * @param entries the entries this tile uses.
+     */
+    protected void retainPoolEntries(AdvancedStackHandlerEntry... entries) {
+        AdvancedStackHandlerEntry.release(this, poolEntries);
+        AdvancedStackHandlerEntry.retain(this, entries);
+        this.poolEntries = entries;
+    }
+
+    @Override
+    public void validate() {
+        super.validate();
+        invalidateNodeBindings();
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        AdvancedStackHandlerEntry.release(this, poolEntries);
+        invalidateNodeBindings();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        AdvancedStackHandlerEntry.release(this, poolEntries);
+        invalidateNodeBindings();
+    }
+
+    /**
+     * Make the nodes at this position look up their network tile again, called whenever this tile is added or removed.
+     */
+    protected void invalidateNodeBindings() {
+        if (world != null && !world.isRemote)
+            PositionData.invalidateBindings(world.provider.getDimension(), pos);
+    }
+
     public boolean isJammed() {
         return this.isJammed;
     }
@@ -5,7 +5,10 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Set;
 import java.util.UUID;
+import java.util.WeakHashMap;
 
 /**
  * Entry in the advancedhandler pool, used for serialization and deserialization. Stores the handler, the dimension,
@@ -20,6 +23,11 @@ public class AdvancedStackHandlerEntry {
     private int dimension;
     private AdvancedItemStackHandler handler;
 
+    // Tiles and network tiles currently using this entry, held weakly so a missed release can't pin the entry.
+    private final Set<Object> owners = Collections.newSetFromMap(new WeakHashMap<>());
+    // Set when a sweep found the entry unowned, freed if it's still unowned on the next visit.
+    private boolean orphaned;
+
     public AdvancedStackHandlerEntry(UUID id, int dimension, BlockPos pos, AdvancedItemStackHandler handler) {
         this(id, dimension, pos, handler, AdvancedStackHandlerPool.getPool(dimension));
     }
@@ -39,6 +47,46 @@ public class AdvancedStackHandlerEntry {
         return new AdvancedStackHandlerEntry(tag.getUniqueId("id"), tag.getInteger("dimension"), pos, handler, pool);
     }
 
+    /**
+     * Mark the given entries as in use by the owner, null entries are ignored.
+     *
+     * @param owner   the tile or network tile using the entries.
+     * @param entries the entries to retain.
+     */
+    public static void retain(Object owner, AdvancedStackHandlerEntry... entries) {
+        for (AdvancedStackHandlerEntry entry : entries) {
+            if (entry != null) {
+                entry.owners.add(owner);
+                entry.orphaned = false;
+            }
+        }
+    }
+
+    /**
+     * Release the given entries from the owner, null entries are ignored.
+     *
+     * @param owner   the tile or network tile that no longer uses the entries.
+     * @param entries the entries to release.
+     */
+    public static void release(Object owner, AdvancedStackHandlerEntry... entries) {
+        for (AdvancedStackHandlerEntry entry : entries) {
+            if (entry != null)
+                entry.owners.remove(owner);
+        }
+    }
+
+    public boolean isReferenced() {
+        return !owners.isEmpty();
+    }
+
+    public boolean isOrphaned() {
+        return orphaned;
+    }
+
+    public void setOrphaned(boolean orphaned) {
+        this.orphaned = orphaned;
+    }
+
     public NBTTagCompound serialize() {
         NBTTagCompound tag = new NBTTagCompound();
 
@@ -1,6 +1,7 @@
 package com.elytradev.teckle.common.tile.inv.pool;
 
 import com.elytradev.teckle.common.TeckleLog;
+import com.elytradev.teckle.common.TeckleMod;
 import com.elytradev.teckle.common.tile.inv.AdvancedItemStackHandler;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -13,6 +14,7 @@ import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -27,6 +29,10 @@ public class AdvancedStackHandlerPool extends WorldSavedData {
     private Map<UUID, AdvancedStackHandlerEntry> registeredHandlers = Maps.newHashMap();
     private int dimension = 0;
 
+    // Ids left to visit in the current sweep, a sweep only covers a batch of entries each tick.
+    private Deque<UUID> sweepQueue = new ArrayDeque<>();
+    private int sweepCooldown = 0;
+
     public AdvancedStackHandlerPool(String name) {
         super(name);
     }
@@ -55,6 +61,16 @@ public class AdvancedStackHandlerPool extends WorldSavedData {
         }
     }
 
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent e) {
+        if (e.world.isRemote || e.phase != TickEvent.Phase.END)
+            return;
+
+        AdvancedStackHandlerPool pool = DIMENSION_POOLS.get(e.world.provider.getDimension());
+        if (pool != null)
+            pool.sweep(e.world);
+    }
+
     public static AdvancedStackHandlerPool getPool(@Nonnull World world) {
         return getPool(world.provider.getDimension());
     }
@@ -101,10 +117,51 @@ public class AdvancedStackHandlerPool extends WorldSavedData {
             entryOut = new AdvancedStackHandlerEntry(UUID.randomUUID(), dimension, pos, new AdvancedItemStackHandler(handlerSize));
         } else {
             entryOut = this.get(knownID);
+            if (entryOut == null) {
+                TeckleLog.warn("Stack handler {} at {} in {} was missing from the pool, its contents are lost and an empty handler will be used.",
+                        knownID, pos, dimension);
+                entryOut = new AdvancedStackHandlerEntry(knownID, dimension, pos, new AdvancedItemStackHandler(handlerSize), this);
+            } else {
+                // Looked up by an owner that hasn't retained it yet, restart the sweep's count so it can't be freed before it does.
+                entryOut.setOrphaned(false);
+            }
         }
         return entryOut;
     }
 
+    /**
+     * Check a batch of entries and free the ones no tile or network tile has claimed for two visits in a row.
+     * Entries in unloaded chunks are left alone as their owners can't be checked.
+     *
+     * @param world the world this pool belongs to.
+     */
+    public void sweep(World world) {
+        if (sweepQueue.isEmpty()) {
+            if (sweepCooldown-- > 0)
+                return;
+            sweepCooldown = TeckleMod.CONFIG.stackPoolSweepInterval;
+            sweepQueue.addAll(registeredHandlers.keySet());
+        }
+
+        int freed = 0;
+        for (int i = 0; i < TeckleMod.CONFIG.stackPoolSweepBatch && !sweepQueue.isEmpty(); i++) {
+            AdvancedStackHandlerEntry entry = registeredHandlers.get(sweepQueue.poll());
+            if (entry == null || entry.getPos() == null || !world.isBlockLoaded(entry.getPos()))
+                continue;
+
+            if (entry.isReferenced()) {
+                entry.setOrphaned(false);
+            } else if (entry.isOrphaned()) {
+                registeredHandlers.remove(entry.getId());
+                freed++;
+            } else {
+                entry.setOrphaned(true);
+            }
+        }
+        if (freed != 0)
+            TeckleLog.debug("Freed {} orphaned stack handlers in {}", freed, this.dimension);
+    }
+
     @Override
     public boolean isDirty() {
         return true;
@@ -179,12 +236,12 @@ public class AdvancedStackHandlerPool extends WorldSavedData {
             return tag;
 
         int skipped = 0;
+        World world = DimensionManager.getWorld(this.dimension);
         List<NBTTagCompound> entries = Lists.newArrayList();
         for (AdvancedStackHandlerEntry entry : registeredHandlers.values()) {
-            World world = DimensionManager.getWorld(entry.getDimension());
-            // sanity check, makes sure we don't save stuff if there's nothing at the position this handler is at.
-            // not perfect but it gets the job done.
-            if (entry.getPos() != null && world.isBlockLoaded(entry.getPos()) && world.getTileEntity(entry.getPos()) == null) {
+            // sanity check, makes sure we don't save stuff if nothing owns the handler and there's nothing at its position.
+            if (!entry.isReferenced() && entry.getPos() != null && world != null
+                    && world.isBlockLoaded(entry.getPos()) && world.getTileEntity(entry.getPos()) == null) {
                 skipped++;
                 continue;
             }
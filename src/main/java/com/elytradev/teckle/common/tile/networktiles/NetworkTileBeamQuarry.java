@@ -100,5 +100,6 @@ public class NetworkTileBeamQuarry extends WorldNetworkTile {
 
         this.junkSupplyID = tag.getUniqueId("junkSupply");
         this.junkSupply = AdvancedStackHandlerPool.getPool(getWorld().provider.getDimension()).get(junkSupplyID);
+        AdvancedStackHandlerEntry.retain(this, bufferData, junkSupply);
     }
 }
@@ -147,5 +147,6 @@ public class NetworkTileFilter extends NetworkTileTransposer {
         this.filterID = tag.getUniqueId("filter");
         this.bufferData = AdvancedStackHandlerPool.getPool(getWorld().provider.getDimension()).get(bufferID);
         this.filterData = AdvancedStackHandlerPool.getPool(getWorld().provider.getDimension()).get(filterID);
+        AdvancedStackHandlerEntry.retain(this, bufferData, filterData);
     }
 }
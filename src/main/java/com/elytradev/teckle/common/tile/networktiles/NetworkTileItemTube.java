@@ -5,6 +5,9 @@ import com.elytradev.teckle.api.capabilities.CapabilityWorldNetworkTile;
 import com.elytradev.teckle.api.capabilities.WorldNetworkTile;
 import com.elytradev.teckle.api.capabilities.impl.ItemNetworkAssistant;
 import com.elytradev.teckle.common.tile.TileItemTube;
+import com.elytradev.teckle.common.tile.TubeTier;
+import com.elytradev.teckle.common.worldnetwork.common.WorldNetwork;
+import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkDatabase;
 import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkTraveller;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkNode;
 import com.elytradev.teckle.common.worldnetwork.item.ItemNetworkEndpoint;
@@ -27,7 +30,6 @@ import net.minecraftforge.common.util.Constants;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 
 import static com.elytradev.teckle.common.TeckleMod.MULTIPART_CAPABILITY;
@@ -36,6 +38,7 @@ public class NetworkTileItemTube extends WorldNetworkTile {
 
     public List<EnumFacing> blockedFaces = Lists.newArrayList();
     private EnumDyeColor cachedColour = null;
+    private TubeTier cachedTier = TubeTier.NORMAL;
 
     public NetworkTileItemTube(World world, BlockPos pos, EnumFacing face) {
         super(world, pos, face);
@@ -43,6 +46,8 @@ public class NetworkTileItemTube extends WorldNetworkTile {
 
     public NetworkTileItemTube(TileItemTube tube) {
         super(tube.getWorld(), tube.getPos(), null);
+        this.cachedColour = tube.getColour();
+        this.cachedTier = tube.getTier();
     }
 
     @Override
@@ -57,10 +62,37 @@ public class NetworkTileItemTube extends WorldNetworkTile {
 
     @Override
     public boolean canAcceptTraveller(WorldNetworkTraveller traveller, EnumFacing from) {
-        if (this.getColour() != null && traveller.data.hasKey("colour")) {
-            return Objects.equals(this.getColour(), EnumDyeColor.byMetadata(traveller.data.getInteger("colour")));
-        }
-        return true;
+        return acceptsColour(getColour(), traveller);
+    }
+
+    @Override
+    public AcceptanceClass getAcceptanceClass() {
+        return cachedColour == null ? AcceptanceClass.STATIC : AcceptanceClass.COLOUR_GATED;
+    }
+
+    @Override
+    public EnumDyeColor getAcceptanceColour() {
+        return cachedColour;
+    }
+
+    /**
+     * Called by the tube when it's painted, routes that relied on the old colour are searched again.
+     *
+     * @param colour the new colour of the tube.
+     */
+    public void onColourChanged(EnumDyeColor colour) {
+        this.cachedColour = colour;
+        if (getNode() != null && getNode().getNetwork() instanceof WorldNetwork)
+            ((WorldNetwork) getNode().getNetwork()).markColourChanged(getNode());
+    }
+
+    /**
+     * Called by the tube when it's upgraded, keeps the speed read during pathfinding free of world lookups.
+     *
+     * @param tier the new tier of the tube.
+     */
+    public void onTierChanged(TubeTier tier) {
+        this.cachedTier = tier;
     }
 
     public void calculateBlockedFaces() {
@@ -116,7 +148,13 @@ public class NetworkTileItemTube extends WorldNetworkTile {
 
     @Override
     public void networkReloaded(IWorldNetwork network) {
-        List<TileEntity> neighbourNodes = ItemNetworkAssistant.getPotentialNeighbourNodes(this, true);
+        // Neighbours in unloaded chunks are linked once their chunk loads, looking them up now would load it.
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            BlockPos neighbourPos = getPos().offset(facing);
+            if (canConnectTo(facing) && !getWorld().isBlockLoaded(neighbourPos))
+                WorldNetworkDatabase.deferNeighbourLink(this, neighbourPos);
+        }
+        List<TileEntity> neighbourNodes = ItemNetworkAssistant.getPotentialNeighbourNodes(this, false);
         for (TileEntity neighbourTile : neighbourNodes) {
             BlockPos posDiff = getPos().subtract(neighbourTile.getPos());
             EnumFacing capabilityFace = WorldNetworkTraveller.getFacingFromVector(posDiff);
@@ -142,6 +180,19 @@ public class NetworkTileItemTube extends WorldNetworkTile {
         return this.cachedColour;
     }
 
+    public TubeTier getTier() {
+        if (getWorld() != null && getWorld().isBlockLoaded(getPos()) && getWorld().getTileEntity(getPos()) instanceof TileItemTube) {
+            this.cachedTier = ((TileItemTube) getWorld().getTileEntity(getPos())).getTier();
+        }
+
+        return this.cachedTier;
+    }
+
+    @Override
+    public float getSpeedMultiplier() {
+        return cachedTier.speedMultiplier;
+    }
+
     @Override
     public NBTTagCompound serializeNBT() {
         NBTTagCompound tag = new NBTTagCompound();
@@ -156,6 +207,7 @@ public class NetworkTileItemTube extends WorldNetworkTile {
         } else {
             tag.removeTag("colour");
         }
+        tag.setInteger("tier", getTier().ordinal());
         return tag;
     }
 
@@ -168,6 +220,7 @@ public class NetworkTileItemTube extends WorldNetworkTile {
         }
 
         this.cachedColour = !tag.hasKey("colour") ? null : EnumDyeColor.byMetadata(tag.getInteger("colour"));
+        this.cachedTier = TubeTier.byId(tag.getInteger("tier"));
     }
 
     @Override
@@ -175,6 +228,7 @@ public class NetworkTileItemTube extends WorldNetworkTile {
         return "NetworkTileItemTube{" +
                 "blockedFaces=" + blockedFaces +
                 ", cachedColour=" + cachedColour +
+                ", cachedTier=" + cachedTier +
                 ", node=" + getNode() +
                 '}';
     }
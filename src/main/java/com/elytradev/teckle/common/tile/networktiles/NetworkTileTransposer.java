@@ -130,5 +130,6 @@ public class NetworkTileTransposer extends WorldNetworkTile {
         this.cachedFace = EnumFacing.values()[tag.getInteger("cachedFace")];
         this.bufferID = tag.getUniqueId("buffer");
         this.bufferData = AdvancedStackHandlerPool.getPool(getWorld().provider.getDimension()).get(bufferID);
+        AdvancedStackHandlerEntry.retain(this, bufferData);
     }
 }
@@ -94,5 +94,6 @@ public abstract class NetworkTileRetrieverBase extends WorldNetworkTile {
         this.filterID = tag.getUniqueId("filter");
         this.bufferData = AdvancedStackHandlerPool.getPool(getWorld().provider.getDimension()).get(bufferID);
         this.filterData = AdvancedStackHandlerPool.getPool(getWorld().provider.getDimension()).get(filterID);
+        AdvancedStackHandlerEntry.retain(this, bufferData, filterData);
     }
 }
@@ -88,6 +88,9 @@ public class TileRetriever extends TileLitNetworkMember implements IElementProvi
 
         this.inputTile.setOtherTile(outputTile);
         this.outputTile.setOtherTile(inputTile);
+
+        retainPoolEntries(bufferData, filterData);
+        invalidateNodeBindings();
     }
 
     @Nullable
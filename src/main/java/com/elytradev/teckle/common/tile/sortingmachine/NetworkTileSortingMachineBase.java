@@ -153,5 +153,6 @@ public abstract class NetworkTileSortingMachineBase extends WorldNetworkTile {
         this.filterID = tag.getUniqueId("filter");
         this.bufferData = AdvancedStackHandlerPool.getPool(getWorld().provider.getDimension()).get(bufferID);
         this.filterData = AdvancedStackHandlerPool.getPool(getWorld().provider.getDimension()).get(filterID);
+        AdvancedStackHandlerEntry.retain(this, bufferData, filterData);
     }
 }
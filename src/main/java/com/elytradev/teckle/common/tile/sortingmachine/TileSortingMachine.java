@@ -132,10 +132,12 @@ public class TileSortingMachine extends TileLitNetworkMember implements IElement
             this.inputTile.setOtherTile(outputTile);
             this.outputTile.setOtherTile(inputTile);
 
+            retainPoolEntries(bufferData, filterData);
             this.tileEntityInvalid = false;
         } catch (Exception e) {
             TeckleLog.error("Failed to validate sortingmachine. {}", e);
         }
+        invalidateNodeBindings();
     }
 
     @Override
@@ -10,6 +10,9 @@ import net.minecraft.util.registry.RegistryNamespaced;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.event.FMLInterModComms;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
 import java.util.Objects;
 
 /**
@@ -19,6 +22,9 @@ public class NetworkTileRegistry {
 
     // Kept private, use delegate methods.
     private static RegistryNamespaced<ResourceLocation, Class<? extends WorldNetworkTile>> REGISTRY;
+    private static HashMap<ResourceLocation, Factory> FACTORIES;
+    // Interned palette of the raw ids found in saved data, avoids parsing a ResourceLocation for every node.
+    private static HashMap<String, Factory> PALETTE;
 
     public static void handleIMCEvent(FMLInterModComms.IMCEvent e) {
         for (FMLInterModComms.IMCMessage msg : e.getMessages()) {
@@ -52,19 +58,66 @@ public class NetworkTileRegistry {
     }
 
     public static void registerNetworkTile(ResourceLocation id, Class<? extends WorldNetworkTile> clazz) {
+        registerNetworkTile(id, clazz, createReflectiveFactory(id, clazz));
+    }
+
+    public static void registerNetworkTile(String modID, String tileID, Class<? extends WorldNetworkTile> clazz) {
+        registerNetworkTile(new ResourceLocation(modID, tileID), clazz);
+    }
+
+    /**
+     * Register a network tile with an explicit factory, preferred over the reflective registration.
+     *
+     * @param id      the id of the network tile.
+     * @param clazz   the class of the network tile.
+     * @param factory the factory used to create the tile when loading networks.
+     */
+    public static void registerNetworkTile(ResourceLocation id, Class<? extends WorldNetworkTile> clazz, @Nullable Factory factory) {
         TeckleLog.info("Registering a network tile with the following key {}", id);
 
+        REGISTRY.putObject(id, clazz);
+        if (factory != null)
+            FACTORIES.put(id, factory);
+        PALETTE.clear();
+    }
+
+    public static void registerNetworkTile(String modID, String tileID, Class<? extends WorldNetworkTile> clazz, Factory factory) {
+        registerNetworkTile(new ResourceLocation(modID, tileID), clazz, factory);
+    }
+
+    @Nullable
+    private static Factory createReflectiveFactory(ResourceLocation id, Class<? extends WorldNetworkTile> clazz) {
+        Constructor<? extends WorldNetworkTile> constructor;
         try {
-            clazz.getConstructor(World.class, BlockPos.class, EnumFacing.class);
+            constructor = clazz.getConstructor(World.class, BlockPos.class, EnumFacing.class);
         } catch (NoSuchMethodException e) {
             TeckleLog.error("Tried to register a world network tile but received a class that does not have a constructor matching (World, BlockPos, EnumFacing), it will be skipped. Mod: {}, Class: {}", id.getResourceDomain(), clazz.getName());
+            return null;
         }
 
-        REGISTRY.putObject(id, clazz);
+        return (world, pos, face) -> {
+            try {
+                return constructor.newInstance(world, pos, face);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Failed to instantiate " + clazz.getName(), e);
+            }
+        };
     }
 
-    public static void registerNetworkTile(String modID, String tileID, Class<? extends WorldNetworkTile> clazz) {
-        registerNetworkTile(new ResourceLocation(modID, tileID), clazz);
+    /**
+     * Get the factory for a network tile id as it was stored in nbt.
+     *
+     * @param id the string form of the network tile id.
+     * @return the factory, or null if nothing is registered with the id.
+     */
+    @Nullable
+    public static Factory getFactory(String id) {
+        Factory factory = PALETTE.get(id);
+        if (factory == null && !PALETTE.containsKey(id)) {
+            factory = FACTORIES.get(new ResourceLocation(id));
+            PALETTE.put(id, factory);
+        }
+        return factory;
     }
 
     public static Class<? extends WorldNetworkTile> getNetworkTile(ResourceLocation id) {
@@ -77,5 +130,15 @@ public class NetworkTileRegistry {
 
     public static void setup() {
         REGISTRY = new RegistryNamespaced<>();
+        FACTORIES = new HashMap<>();
+        PALETTE = new HashMap<>();
+    }
+
+    /**
+     * Creates network tiles when networks are loaded.
+     */
+    @FunctionalInterface
+    public interface Factory {
+        WorldNetworkTile create(World world, BlockPos pos, EnumFacing face);
     }
 }
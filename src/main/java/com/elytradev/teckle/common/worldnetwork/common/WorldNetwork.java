@@ -19,22 +19,30 @@ package com.elytradev.teckle.common.worldnetwork.common;
 import com.elytradev.teckle.api.IWorldNetwork;
 import com.elytradev.teckle.api.capabilities.WorldNetworkTile;
 import com.elytradev.teckle.common.TeckleLog;
+import com.elytradev.teckle.common.TeckleMod;
 import com.elytradev.teckle.common.network.messages.clientbound.TravellerDataMessage;
 import com.elytradev.teckle.common.worldnetwork.common.node.NodeContainer;
 import com.elytradev.teckle.common.worldnetwork.common.node.PositionData;
+import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkEndpoint;
+import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkEntryPoint;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkNode;
+import com.elytradev.teckle.common.worldnetwork.common.pathing.NetworkSnapshot;
+import com.elytradev.teckle.common.worldnetwork.common.pathing.WorldNetworkPath;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.Lists;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -45,11 +53,40 @@ public class WorldNetwork implements IWorldNetwork {
     public World world;
 
     protected HashMap<BlockPos, PositionData> networkNodes = new HashMap<>();
+    // Amount of node positions in each chunk, lets the loaded chunks be counted without visiting every node.
+    private HashMap<ChunkPos, Integer> chunkNodeCounts = new HashMap<>();
     protected HashBiMap<NBTTagCompound, WorldNetworkTraveller> travellers = HashBiMap.create();
+    // Entry points that stop asking for admission for this many ticks lose their place in the queue.
+    private static final int ADMISSION_QUEUE_TIMEOUT = 40;
+
     private List<BlockPos> listenerNodePositions = new ArrayList<>();
     private List<WorldNetworkTraveller> travellersToUnregister = new ArrayList<>();
-
-    private Runnable loadTravellers = null;
+    // Travellers whose path crosses each position, lets a node removal flag only the travellers it affects.
+    private HashMap<BlockPos, Set<WorldNetworkTraveller>> routeIndex = new HashMap<>();
+    private IdentityHashMap<WorldNetworkTraveller, List<BlockPos>> indexedRoutes = new IdentityHashMap<>();
+    // Loaded travellers whose saved path was no longer valid, paired with the tag they were loaded from.
+    private Deque<Pair<WorldNetworkTraveller, NBTTagCompound>> travellersToRepath = new ArrayDeque<>();
+
+    // Saved travellers that haven't been created yet, loaded by the scheduler once the nodes are registered.
+    private Deque<NBTTagCompound> travellersToLoad = new ArrayDeque<>();
+    private boolean repathScheduled = false;
+    // Bumped whenever nodes are added or removed, snapshots are only valid for the epoch they were captured in.
+    private long topologyEpoch = 0;
+    // Bumped when the inventory next to a node may have changed, lets failed insertions be retried early.
+    private long contentsEpoch = 0;
+    // Bumped when a node's colour mask changes, the snapshot is patched instead of captured again.
+    private long colourEpoch = 0;
+    private NetworkSnapshot snapshot;
+    // Node costs for the snapshot, kept for the tick they were captured in since congestion moves every tick.
+    private int[] routeCosts;
+    private NetworkSnapshot routeCostsSnapshot;
+    private long routeCostsTime = -1;
+    // Entry points refused while the network was full, mapped to the tick they last asked. Served in order as room frees up.
+    private LinkedHashMap<WorldNetworkEntryPoint, Long> waitingEntryPoints = new LinkedHashMap<>();
+    // Travellers that reached an endpoint this tick, inserted together once every traveller has been updated.
+    private LinkedHashMap<Pair<WorldNetworkEndpoint, EnumFacing>, List<WorldNetworkTraveller>> deliveries = new LinkedHashMap<>();
+    // Set while deliveries are inserted, inventory changes seen then were made by this network.
+    private boolean delivering = false;
 
     public WorldNetwork(World world, UUID id, boolean skipRegistration) {
         this.world = world;
@@ -70,12 +107,16 @@ public class WorldNetwork implements IWorldNetwork {
     public void registerNode(WorldNetworkNode node) {
         PositionData positionData = PositionData.getPositionData(getWorld().provider.getDimension(), node.getPosition());
         positionData.add(this, node);
-        networkNodes.putIfAbsent(node.getPosition(), positionData);
+        if (networkNodes.put(node.getPosition(), positionData) == null)
+            chunkNodeCounts.merge(new ChunkPos(node.getPosition()), 1, Integer::sum);
         node.setNetwork(this);
+        node.invalidateBinding(null);
+        topologyEpoch++;
         checkListeners();
-        listenerNodePositions.stream().map(networkNodes::get).flatMap(pD -> pD.getNodeContainers(getNetworkID()).stream())
-                .filter(nodeContainer -> nodeContainer.getNode() != null && nodeContainer.getNode().getNetworkTile().listenToNetworkChange())
-                .forEach(nodeContainer -> nodeContainer.getNode().getNetworkTile().onNodeAdded(node));
+        scheduleListenerNotification(listener -> {
+            if (node.getNetwork() == this && listener.getNode() != node)
+                listener.onNodeAdded(node);
+        });
 
         if (node.hasNetworkTile() && node.getNetworkTile().listenToNetworkChange() && !listenerNodePositions.contains(node.getPosition())) {
             listenerNodePositions.add(node.getPosition());
@@ -83,6 +124,117 @@ public class WorldNetwork implements IWorldNetwork {
         TeckleLog.debug("Registered {} to network {}", node, this);
     }
 
+    /**
+     * Index the positions on a registered traveller's path, replacing whatever was indexed for it before.
+     *
+     * @param traveller the traveller to index.
+     */
+    public void indexTraveller(WorldNetworkTraveller traveller) {
+        if (!travellers.containsValue(traveller))
+            return;
+
+        unindexTraveller(traveller);
+        List<BlockPos> positions = traveller.activePath != null && traveller.activePath != WorldNetworkPath.NOT_POSSIBLE
+                ? traveller.activePath.pathPositions() : new ArrayList<>();
+        positions.add(traveller.currentNode.getPosition());
+        positions.add(traveller.nextNode.getPosition());
+        for (BlockPos position : positions) {
+            routeIndex.computeIfAbsent(position, p -> Collections.newSetFromMap(new IdentityHashMap<>())).add(traveller);
+        }
+        indexedRoutes.put(traveller, positions);
+    }
+
+    private void unindexTraveller(WorldNetworkTraveller traveller) {
+        List<BlockPos> positions = indexedRoutes.remove(traveller);
+        if (positions == null)
+            return;
+
+        for (BlockPos position : positions) {
+            Set<WorldNetworkTraveller> indexed = routeIndex.get(position);
+            if (indexed != null) {
+                indexed.remove(traveller);
+                if (indexed.isEmpty())
+                    routeIndex.remove(position);
+            }
+        }
+    }
+
+    public long getTopologyEpoch() {
+        return topologyEpoch;
+    }
+
+    public long getContentsEpoch() {
+        return contentsEpoch;
+    }
+
+    public long getColourEpoch() {
+        return colourEpoch;
+    }
+
+    /**
+     * Signal that an inventory attached to this network may have changed.
+     */
+    public void markContentsChanged() {
+        contentsEpoch++;
+    }
+
+    /**
+     * Signal that the colour mask of a node changed, only the snapshot layers of the colours it affects are dropped.
+     *
+     * @param node the node that was painted.
+     */
+    public void markColourChanged(WorldNetworkNode node) {
+        colourEpoch++;
+        if (snapshot != null && snapshot.epoch == topologyEpoch)
+            snapshot = snapshot.withColourMask(node, node.getColourMask());
+    }
+
+    /**
+     * Get a snapshot of the current topology for searching off the server thread, captured again when the epoch changes.
+     *
+     * @return the snapshot for the current epoch.
+     */
+    public NetworkSnapshot getSnapshot() {
+        if (snapshot == null || snapshot.epoch != topologyEpoch)
+            snapshot = NetworkSnapshot.capture(this, topologyEpoch);
+        return snapshot;
+    }
+
+    /**
+     * Get the node costs for a snapshot search, captured at most once per tick.
+     *
+     * @param snapshot the snapshot that will be searched.
+     * @return the cost of each node in the snapshot, by index.
+     */
+    public int[] getRouteCosts(NetworkSnapshot snapshot) {
+        long worldTime = world.getTotalWorldTime();
+        if (routeCosts == null || routeCostsSnapshot != snapshot || routeCostsTime != worldTime) {
+            routeCosts = snapshot.captureCosts();
+            routeCostsSnapshot = snapshot;
+            routeCostsTime = worldTime;
+        }
+        return routeCosts;
+    }
+
+    /**
+     * Queue a notification for the listeners of this network, the listeners are resolved when the notification runs.
+     *
+     * @param notification the notification to pass to each listening network tile.
+     */
+    private void scheduleListenerNotification(Consumer<WorldNetworkTile> notification) {
+        if (listenerNodePositions.isEmpty())
+            return;
+
+        WorldNetworkDatabase.getScheduler(world).schedule(WorldNetworkScheduler.Priority.NORMAL, () -> {
+            checkListeners();
+            listenerNodePositions.stream().map(networkNodes::get).flatMap(pD -> pD.getNodeContainers(getNetworkID()).stream())
+                    .filter(nodeContainer -> nodeContainer.getNode() != null && nodeContainer.getNode().getNetworkTile() != null
+                            && nodeContainer.getNode().getNetworkTile().listenToNetworkChange())
+                    .forEach(nodeContainer -> notification.accept(nodeContainer.getNode().getNetworkTile()));
+            return true;
+        });
+    }
+
     /**
      * Validates all of the node positions marked as a listener are valid.
      */
@@ -99,6 +251,30 @@ public class WorldNetwork implements IWorldNetwork {
         });
     }
 
+    private void removeEmptyPositions() {
+        networkNodes.entrySet().removeIf(entry -> {
+            if (!entry.getValue().getNodeContainers(getNetworkID()).isEmpty())
+                return false;
+
+            chunkNodeCounts.computeIfPresent(new ChunkPos(entry.getKey()), (chunk, count) -> count > 1 ? count - 1 : null);
+            return true;
+        });
+    }
+
+    /**
+     * Count the chunks with nodes of this network that are currently loaded.
+     *
+     * @return the amount of loaded chunks.
+     */
+    public int countLoadedChunks() {
+        int loaded = 0;
+        for (ChunkPos chunk : chunkNodeCounts.keySet()) {
+            if (world.isBlockLoaded(new BlockPos(chunk.getXStart(), 0, chunk.getZStart())))
+                loaded++;
+        }
+        return loaded;
+    }
+
     @Override
     public void unregisterNode(WorldNetworkNode node) {
         unregisterNodeAtPosition(node.getPosition(), node.getCapabilityFace());
@@ -124,15 +300,19 @@ public class WorldNetwork implements IWorldNetwork {
             // Clean position data of any garbage data just in case.
             positionData.removeIf(getNetworkID(), nodeContainer -> faceMatches(face, nodeContainer.getFacing()) && nodeContainer.getPos().equals(nodePosition));
             // Notify listeners of the removed node.
-            removedNodeContainers.forEach(removedContainer -> listenerNodePositions.stream().map(networkNodes::get).flatMap(pD -> pD.getNodeContainers(getNetworkID()).stream())
-                    .filter(nodeContainer -> nodeContainer.getNode() != null && nodeContainer.getNode().getNetworkTile().listenToNetworkChange())
-                    .forEach(nodeContainer -> nodeContainer.getNode().getNetworkTile().onNodeRemoved(removedContainer.getNode())));
+            scheduleListenerNotification(listener -> removedNodeContainers.forEach(removedContainer -> listener.onNodeRemoved(removedContainer.getNode())));
             //Actually remove the nodes from the position data.
             removedNodeContainers.forEach(removed -> positionData.removeNodeContainer(getNetworkID(), removed));
+            topologyEpoch++;
+            if (routeIndex.containsKey(nodePosition))
+                routeIndex.get(nodePosition).forEach(WorldNetworkTraveller::invalidateRoute);
 
             // Clean positiondata map of empty positions.
-            networkNodes.values().removeIf(posData -> posData.getNodeContainers(getNetworkID()).isEmpty());
+            removeEmptyPositions();
             checkListeners();
+
+            if (networkNodes.isEmpty() || removedNodeContainers.stream().anyMatch(NodeContainer::hasNetworkTile))
+                WorldNetworkDatabase.markStrayCandidate(this);
         }
         TeckleLog.debug(this + "/Unregistered node at, " + nodePosition);
     }
@@ -195,17 +375,76 @@ public class WorldNetwork implements IWorldNetwork {
     public void registerTraveller(WorldNetworkTraveller traveller, boolean send) {
         traveller.network = this;
         travellers.put(traveller.data, traveller);
+        indexTraveller(traveller);
+        WorldNetworkDatabase.markActive(this);
 
         if (send)
             new TravellerDataMessage(TravellerDataMessage.Action.REGISTER, traveller).sendToAllWatching(world, traveller.currentNode.getPosition());
     }
 
+    /**
+     * Check if an entry point may add a traveller, entry points that were refused earlier get the free room first.
+     *
+     * @param entryPoint the entry point adding a traveller.
+     * @param simulate   if true the queue of waiting entry points is left untouched.
+     * @return true if the traveller can be added.
+     */
+    public boolean admitTraveller(WorldNetworkEntryPoint entryPoint, boolean simulate) {
+        int limit = TeckleMod.CONFIG.networkTravellerLimit;
+        if (limit <= 0)
+            return true;
+
+        long worldTime = world.getTotalWorldTime();
+        waitingEntryPoints.values().removeIf(lastAsked -> worldTime - lastAsked > ADMISSION_QUEUE_TIMEOUT);
+        int room = limit - travellers.size();
+        if (room > 0) {
+            if (waitingEntryPoints.size() < room && !waitingEntryPoints.containsKey(entryPoint))
+                return true;
+
+            // Only the entry points at the front of the queue fit in the free room.
+            int position = 0;
+            for (WorldNetworkEntryPoint waiting : waitingEntryPoints.keySet()) {
+                if (position++ >= room)
+                    break;
+                if (waiting == entryPoint) {
+                    if (!simulate)
+                        waitingEntryPoints.remove(entryPoint);
+                    return true;
+                }
+            }
+        }
+
+        if (!simulate)
+            waitingEntryPoints.put(entryPoint, worldTime);
+        return false;
+    }
+
+    public boolean isTravellerPresent(WorldNetworkTraveller traveller) {
+        return travellers.containsValue(traveller) && !travellersToUnregister.contains(traveller);
+    }
+
+    /**
+     * Change the data of a registered traveller, keeps the traveller map consistent with the new data.
+     *
+     * @param traveller the traveller to change.
+     * @param update    the change to make to the traveller's data.
+     */
+    public void updateTravellerData(WorldNetworkTraveller traveller, Consumer<NBTTagCompound> update) {
+        boolean registered = travellers.inverse().remove(traveller) != null;
+        update.accept(traveller.data);
+        if (registered)
+            travellers.put(traveller.data, traveller);
+    }
+
     @Override
     public void unregisterTraveller(WorldNetworkTraveller traveller, boolean immediate, boolean send) {
         if (!immediate) {
             travellersToUnregister.add(traveller);
+            WorldNetworkDatabase.markActive(this);
         } else {
             travellers.remove(traveller.data);
+            unindexTraveller(traveller);
+            traveller.releaseReservation();
 
             if (traveller.currentNode != null && !getNodeContainersAtPosition(traveller.currentNode.getPosition()).isEmpty())
                 getNodeContainersAtPosition(traveller.currentNode.getPosition()).stream()
@@ -225,8 +464,11 @@ public class WorldNetwork implements IWorldNetwork {
         WorldNetworkTraveller traveller = travellers.get(data);
         if (!immediate) {
             travellersToUnregister.add(travellers.get(data));
+            WorldNetworkDatabase.markActive(this);
         } else {
             travellers.remove(data);
+            unindexTraveller(traveller);
+            traveller.releaseReservation();
             if (traveller.currentNode != null && !getNodeContainersAtPosition(traveller.currentNode.getPosition()).isEmpty())
                 getNodeContainersAtPosition(traveller.currentNode.getPosition()).stream().filter(nContainer -> nContainer.getNode().equals(traveller.currentNode))
                         .forEach(nodeContainer -> nodeContainer.getNode().unregisterTraveller(traveller));
@@ -250,17 +492,20 @@ public class WorldNetwork implements IWorldNetwork {
         WorldNetwork mergedNetwork = new WorldNetwork(this.world, null);
         this.transferNetworkData(mergedNetwork);
         otherNetwork.transferNetworkData(mergedNetwork);
-        mergedNetwork.listenerNodePositions.stream().flatMap((Function<BlockPos, Stream<NodeContainer>>)
-                blockPos -> mergedNetwork.getNodeContainersAtPosition(blockPos).stream()
-                        .filter(nC -> nC.hasNetworkTile() && nC.getNetworkTile().listenToNetworkChange())).forEach(nodeContainer ->
-                mergedNetwork.nodeStream().filter(streamedContainer -> streamedContainer != nodeContainer)
-                        .forEach(streamedContainer -> nodeContainer.getNetworkTile().onNodeAdded(streamedContainer.getNode())));
+        mergedNetwork.scheduleListenerNotification(listener -> mergedNetwork.nodeStream()
+                .filter(streamedContainer -> streamedContainer.getNode() != listener.getNode())
+                .forEach(streamedContainer -> listener.onNodeAdded(streamedContainer.getNode())));
         TeckleLog.debug("Completed merge, resulted in " + mergedNetwork);
         return mergedNetwork;
     }
 
     @Override
     public void transferNetworkData(IWorldNetwork to) {
+        // Create any travellers that are still waiting to load so they move with everything else.
+        while (!travellersToLoad.isEmpty()) {
+            loadNextTraveller();
+        }
+
         List<WorldNetworkTraveller> travellersToMove = new ArrayList<>();
         travellersToMove.addAll(this.travellers.values());
         this.travellers.clear();
@@ -284,6 +529,20 @@ public class WorldNetwork implements IWorldNetwork {
         for (WorldNetworkTraveller traveller : travellersToMove) {
             traveller.moveTo(to);
         }
+
+        // Travellers still waiting on a repath follow the nodes they're sitting on.
+        while (!travellersToRepath.isEmpty()) {
+            Pair<WorldNetworkTraveller, NBTTagCompound> pending = travellersToRepath.poll();
+            pending.getLeft().network = to;
+            if (to instanceof WorldNetwork) {
+                ((WorldNetwork) to).travellersToRepath.add(pending);
+            } else {
+                pending.getLeft().genPath(true);
+                to.registerTraveller(pending.getLeft(), true);
+            }
+        }
+        if (to instanceof WorldNetwork)
+            ((WorldNetwork) to).scheduleRepaths();
     }
 
     @Override
@@ -294,7 +553,7 @@ public class WorldNetwork implements IWorldNetwork {
         List<List<NodeContainer>> networks = new ArrayList<>();
         HashMap<BlockPos, PositionData> uncheckedPositions = new HashMap<>();
         // Clean position data of any old stuff, just makes sure we don't try and iterate forever.
-        networkNodes.values().removeIf(posData -> posData.getNodeContainers(getNetworkID()).isEmpty());
+        removeEmptyPositions();
         uncheckedPositions.putAll(this.networkNodes);
 
         while (!uncheckedPositions.isEmpty()) {
@@ -382,12 +641,8 @@ public class WorldNetwork implements IWorldNetwork {
 
     @Override
     public void update() {
-        if (loadTravellers != null) {
-            loadTravellers.run();
-            loadTravellers = null;
-        }
-
         travellers.values().forEach(WorldNetworkTraveller::update);
+        flushDeliveries();
         for (WorldNetworkTraveller traveller : travellersToUnregister) {
             if (traveller == null)
                 continue;
@@ -395,11 +650,125 @@ public class WorldNetwork implements IWorldNetwork {
             if (traveller.currentNode != WorldNetworkNode.NONE && isNodePresent(traveller.currentNode.getPosition()))
                 getNode(traveller.currentNode.getPosition(), traveller.currentNode.getCapabilityFace()).unregisterTraveller(traveller);
             travellers.inverse().remove(traveller);
+            unindexTraveller(traveller);
+            traveller.releaseReservation();
         }
 
         travellersToUnregister.clear();
     }
 
+    /**
+     * Queue a traveller for insertion into an endpoint at the end of this tick.
+     *
+     * @param traveller     the traveller that reached the endpoint.
+     * @param endpoint      the endpoint to insert into.
+     * @param injectionFace the face of the endpoint the traveller entered from.
+     */
+    public void queueDelivery(WorldNetworkTraveller traveller, WorldNetworkEndpoint endpoint, EnumFacing injectionFace) {
+        deliveries.computeIfAbsent(new ImmutablePair<>(endpoint, injectionFace), k -> new ArrayList<>()).add(traveller);
+    }
+
+    private void flushDeliveries() {
+        if (deliveries.isEmpty())
+            return;
+
+        Map<Pair<WorldNetworkEndpoint, EnumFacing>, List<WorldNetworkTraveller>> toDeliver = deliveries;
+        deliveries = new LinkedHashMap<>();
+        for (Map.Entry<Pair<WorldNetworkEndpoint, EnumFacing>, List<WorldNetworkTraveller>> delivery : toDeliver.entrySet()) {
+            WorldNetworkEndpoint endpoint = delivery.getKey().getLeft();
+            EnumFacing injectionFace = delivery.getKey().getRight();
+            Set<WorldNetworkTraveller> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+            delivering = true;
+            try {
+                failed.addAll(endpoint.injectAll(delivery.getValue(), injectionFace));
+            } finally {
+                delivering = false;
+            }
+            for (WorldNetworkTraveller traveller : delivery.getValue()) {
+                traveller.onDelivered(endpoint, injectionFace, !failed.contains(traveller));
+            }
+        }
+    }
+
+    /**
+     * Check if this network is inserting deliveries right now, neighbour updates fired by those insertions come from here.
+     *
+     * @return true while deliveries are being inserted.
+     */
+    public boolean isDelivering() {
+        return delivering;
+    }
+
+    @Override
+    public boolean requiresUpdate() {
+        return !travellers.isEmpty() || !travellersToUnregister.isEmpty();
+    }
+
+    /**
+     * Check if this network can be put in cold storage, only networks without deferred work still referencing them can.
+     *
+     * @return true if the network can be serialized and dropped until one of its chunks loads again.
+     */
+    public boolean canEvict() {
+        return travellersToUnregister.isEmpty() && travellersToLoad.isEmpty()
+                && travellersToRepath.isEmpty() && !repathScheduled && deliveries.isEmpty();
+    }
+
+    /**
+     * Creates the next saved traveller, travellers that can't restore their path are queued for a repath.
+     *
+     * @return true if there are no travellers left to load.
+     */
+    private boolean loadNextTraveller() {
+        NBTTagCompound travellerCompound = travellersToLoad.poll();
+        if (travellerCompound != null) {
+            WorldNetworkTraveller traveller = new WorldNetworkTraveller(new NBTTagCompound());
+            traveller.network = this;
+            try {
+                traveller.deserializeNBT(travellerCompound);
+                if (traveller.restorePath(travellerCompound)) {
+                    registerTraveller(traveller, true);
+                } else {
+                    travellersToRepath.add(new ImmutablePair<>(traveller, travellerCompound));
+                    scheduleRepaths();
+                }
+            } catch (Exception e) {
+                TeckleLog.error("Failed to load traveller {}", traveller.data);
+                e.printStackTrace();
+            }
+        }
+        return travellersToLoad.isEmpty();
+    }
+
+    private void scheduleRepaths() {
+        if (repathScheduled || travellersToRepath.isEmpty())
+            return;
+
+        repathScheduled = true;
+        WorldNetworkDatabase.getScheduler(world).schedule(WorldNetworkScheduler.Priority.NORMAL, this::repathNextTraveller);
+    }
+
+    /**
+     * Generates a new path for the next loaded traveller that could not restore its saved path.
+     *
+     * @return true if there are no travellers left to repath.
+     */
+    private boolean repathNextTraveller() {
+        Pair<WorldNetworkTraveller, NBTTagCompound> pending = travellersToRepath.poll();
+        if (pending != null) {
+            WorldNetworkTraveller traveller = pending.getLeft();
+            try {
+                traveller.genPath(true);
+                registerTraveller(traveller, true);
+            } catch (Exception e) {
+                TeckleLog.error("Failed to repath traveller {}", traveller.data);
+                e.printStackTrace();
+            }
+        }
+        repathScheduled = !travellersToRepath.isEmpty();
+        return !repathScheduled;
+    }
+
     @Override
     public String toString() {
         return "WorldNetwork{" +
@@ -455,6 +824,15 @@ public class WorldNetwork implements IWorldNetwork {
                 tCount++;
             }
         }
+        // Travellers still waiting to load or for a path are saved as they were loaded.
+        for (NBTTagCompound pending : travellersToLoad) {
+            compound.setTag("t" + tCount, pending);
+            tCount++;
+        }
+        for (Pair<WorldNetworkTraveller, NBTTagCompound> pending : travellersToRepath) {
+            compound.setTag("t" + tCount, pending.getRight());
+            tCount++;
+        }
         compound.setInteger("tCount", tCount);
 
         return compound;
@@ -488,29 +866,24 @@ public class WorldNetwork implements IWorldNetwork {
         }
         TeckleLog.debug("Deserialized {} nodes, expected: {}", deserialized, expected);
 
-        // very quality code
-        loadTravellers = () -> {
-            List<WorldNetworkTraveller> deserializedTravellers = new ArrayList<>();
-            for (int i = 0; i < compound.getInteger("tCount"); i++) {
-                WorldNetworkTraveller traveller = new WorldNetworkTraveller(new NBTTagCompound());
-                traveller.network = WorldNetwork.this;
-                traveller.deserializeNBT(compound.getCompoundTag("t" + i));
-                deserializedTravellers.add(traveller);
-            }
-
-            int failures = 0;
-            for (WorldNetworkTraveller traveller : deserializedTravellers) {
-                try {
-                    traveller.genPath(true);
-                    registerTraveller(traveller, true);
-                } catch (Exception e) {
-                    failures++;
-                    TeckleLog.error("Failed to load traveller {}", traveller.data);
-                    e.printStackTrace();
-                }
-            }
-            TeckleLog.debug("Failed to load {} out of {} travellers.", failures, deserializedTravellers.size());
-        };
+        // Travellers are created later by the network scheduler.
+        for (int i = 0; i < compound.getInteger("tCount"); i++) {
+            travellersToLoad.add(compound.getCompoundTag("t" + i));
+        }
+        if (!travellersToLoad.isEmpty())
+            WorldNetworkDatabase.getScheduler(world).schedule(WorldNetworkScheduler.Priority.HIGH, this::loadNextTraveller);
+
+        // Let the network tiles add neighbours that aren't saved in the network, one tile per step.
+        Deque<WorldNetworkTile> reloadedTiles = nodeStream().map(NodeContainer::getNetworkTile).filter(Objects::nonNull)
+                .distinct().collect(Collectors.toCollection(ArrayDeque::new));
+        if (!reloadedTiles.isEmpty()) {
+            WorldNetworkDatabase.getScheduler(world).schedule(WorldNetworkScheduler.Priority.HIGH, () -> {
+                WorldNetworkTile networkTile = reloadedTiles.poll();
+                if (networkTile != null && networkTile.getNode() != null && networkTile.getNode().getNetwork() == this
+                        && WorldNetworkDatabase.getNetworkDB(world).isNetworkLoaded(this))
+                    networkTile.networkReloaded(this);
+                return reloadedTiles.isEmpty();
+            });
+        }
     }
 }
-
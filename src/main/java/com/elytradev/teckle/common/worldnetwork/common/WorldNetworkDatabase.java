@@ -17,18 +17,21 @@
 package com.elytradev.teckle.common.worldnetwork.common;
 
 import com.elytradev.teckle.api.IWorldNetwork;
+import com.elytradev.teckle.api.capabilities.WorldNetworkTile;
 import com.elytradev.teckle.common.TeckleLog;
 import com.elytradev.teckle.common.TeckleMod;
 import com.elytradev.teckle.common.worldnetwork.common.node.NodeContainer;
+import com.elytradev.teckle.common.worldnetwork.common.node.PositionData;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.storage.WorldSavedData;
 import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -38,7 +41,6 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import javax.annotation.Nonnull;
 import java.util.*;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -50,7 +52,22 @@ public class WorldNetworkDatabase extends WorldSavedData {
     private static HashMap<Integer, WorldNetworkDatabase> DIMENSION_DATABASES = Maps.newHashMap();
 
     private HashMap<UUID, IWorldNetwork> networks = Maps.newHashMap();
+    // Networks that get updated each tick, everything else is dormant until marked active.
+    private Set<UUID> activeNetworks = new LinkedHashSet<>();
+    // Networks that may have become stray since the last cleaning, only these get checked.
+    private Set<UUID> strayCandidates = new LinkedHashSet<>();
+    private WorldNetworkScheduler scheduler = new WorldNetworkScheduler();
     private HashMap<Pair<BlockPos, EnumFacing>, UUID> remappedNodes = Maps.newHashMap();
+    // Networks with no loaded nodes, kept serialized until a tile in one of their chunks asks for them again.
+    private HashMap<UUID, NBTTagCompound> coldNetworks = Maps.newHashMap();
+    // Networks with an eviction check queued, a network never has more than one.
+    private Set<UUID> evictionChecks = new HashSet<>();
+    // Unloaded networks that still had deferred work when checked, looked at again on the next cleaning.
+    private Set<UUID> deferredEvictions = new HashSet<>();
+    // Network tiles with neighbours in unloaded chunks, keyed by the chunk they're waiting on.
+    private HashMap<ChunkPos, Set<WorldNetworkTile>> pendingLinks = Maps.newHashMap();
+    // The chunks each waiting network tile is in pendingLinks for, lets its entries be dropped when it goes away.
+    private IdentityHashMap<WorldNetworkTile, Set<ChunkPos>> pendingLinkChunks = new IdentityHashMap<>();
 
     private World world;
     private int cooldownTime = TeckleMod.CONFIG.databaseCleaningCooldown;
@@ -84,6 +101,50 @@ public class WorldNetworkDatabase extends WorldSavedData {
     public static void onWorldUnload(WorldEvent.Unload e) {
         if (DIMENSION_DATABASES.containsKey(e.getWorld().provider.getDimension())) {
             DIMENSION_DATABASES.remove(e.getWorld().provider.getDimension());
+            if (!e.getWorld().isRemote)
+                PositionData.clearDimension(e.getWorld().provider.getDimension());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load e) {
+        if (e.getWorld().isRemote)
+            return;
+
+        PositionData.bindChunk(e.getWorld().provider.getDimension(), e.getChunk().getPos(), true);
+        if (!DIMENSION_DATABASES.containsKey(e.getWorld().provider.getDimension()))
+            return;
+
+        WorldNetworkDatabase networkDB = getNetworkDB(e.getWorld());
+        Set<WorldNetworkTile> waiting = networkDB.pendingLinks.remove(e.getChunk().getPos());
+        if (waiting == null)
+            return;
+
+        // Linking is left for the scheduler so nothing touches the world while the chunk is still loading.
+        for (WorldNetworkTile networkTile : waiting) {
+            Set<ChunkPos> chunks = networkDB.pendingLinkChunks.get(networkTile);
+            if (chunks != null && chunks.remove(e.getChunk().getPos()) && chunks.isEmpty())
+                networkDB.pendingLinkChunks.remove(networkTile);
+            networkDB.scheduler.schedule(WorldNetworkScheduler.Priority.HIGH, () -> {
+                if (networkTile.getNode() != null && networkDB.isNetworkLoaded(networkTile.getNode().getNetwork()))
+                    networkTile.networkReloaded(networkTile.getNode().getNetwork());
+                return true;
+            });
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload e) {
+        // The chunk is still in the provider while this fires, so the new state is passed instead of checked.
+        if (e.getWorld().isRemote)
+            return;
+
+        PositionData.bindChunk(e.getWorld().provider.getDimension(), e.getChunk().getPos(), false);
+        if (TeckleMod.CONFIG.coldNetworkStorage && DIMENSION_DATABASES.containsKey(e.getWorld().provider.getDimension())) {
+            WorldNetworkDatabase networkDB = getNetworkDB(e.getWorld());
+            for (UUID id : PositionData.getNetworksInChunk(e.getWorld().provider.getDimension(), e.getChunk().getPos())) {
+                networkDB.queueEvictionCheck(id);
+            }
         }
     }
 
@@ -107,10 +168,76 @@ public class WorldNetworkDatabase extends WorldSavedData {
         }
         WorldNetworkDatabase networkDB = getNetworkDB(network.getWorld());
         networkDB.networks.put(network.getNetworkID(), network);
+        networkDB.activeNetworks.add(network.getNetworkID());
+        networkDB.strayCandidates.add(network.getNetworkID());
 
         TeckleLog.debug("Registered new network, total is now {}", networkDB.networks.size());
     }
 
+    /**
+     * Mark a worldnetwork as having work to do, it will be updated each tick until it reports it's idle.
+     *
+     * @param network the network to mark.
+     */
+    public static void markActive(IWorldNetwork network) {
+        getNetworkDB(network.getWorld()).activeNetworks.add(network.getNetworkID());
+    }
+
+    /**
+     * Link the given network tile to its neighbours again once the chunk containing the given position loads.
+     *
+     * @param networkTile the network tile with a neighbour in an unloaded chunk.
+     * @param neighbourPos the position of the neighbour.
+     */
+    public static void deferNeighbourLink(WorldNetworkTile networkTile, BlockPos neighbourPos) {
+        WorldNetworkDatabase networkDB = getNetworkDB(networkTile.getWorld());
+        ChunkPos chunk = new ChunkPos(neighbourPos);
+        networkDB.pendingLinks.computeIfAbsent(chunk, c -> Collections.newSetFromMap(new IdentityHashMap<>())).add(networkTile);
+        networkDB.pendingLinkChunks.computeIfAbsent(networkTile, t -> new HashSet<>()).add(chunk);
+    }
+
+    /**
+     * Forget the links the given network tile is waiting on, called when the tile is removed.
+     *
+     * @param networkTile the network tile to forget.
+     */
+    public static void cancelNeighbourLinks(WorldNetworkTile networkTile) {
+        if (networkTile.getWorld() != null && DIMENSION_DATABASES.containsKey(networkTile.getWorld().provider.getDimension()))
+            getNetworkDB(networkTile.getWorld()).removePendingLinks(networkTile);
+    }
+
+    private void removePendingLinks(WorldNetworkTile networkTile) {
+        Set<ChunkPos> chunks = pendingLinkChunks.remove(networkTile);
+        if (chunks == null)
+            return;
+
+        for (ChunkPos chunk : chunks) {
+            Set<WorldNetworkTile> waiting = pendingLinks.get(chunk);
+            if (waiting != null && waiting.remove(networkTile) && waiting.isEmpty())
+                pendingLinks.remove(chunk);
+        }
+    }
+
+    /**
+     * Get the scheduler used for deferred work of networks in the given world.
+     *
+     * @param world the world the work is for.
+     * @return the scheduler.
+     */
+    public static WorldNetworkScheduler getScheduler(@Nonnull World world) {
+        return getNetworkDB(world).scheduler;
+    }
+
+    /**
+     * Mark a worldnetwork as possibly stray, it will be checked and removed if needed on the next cleaning.
+     * Should be called when a network loses its last node or a node with a network tile.
+     *
+     * @param network the network to mark.
+     */
+    public static void markStrayCandidate(IWorldNetwork network) {
+        getNetworkDB(network.getWorld()).strayCandidates.add(network.getNetworkID());
+    }
+
     /**
      * Get the worldnetworkdatabase for the given dimension id.
      *
@@ -152,13 +279,22 @@ public class WorldNetworkDatabase extends WorldSavedData {
     }
 
     private NBTTagCompound saveDatabase(NBTTagCompound databaseCompound) {
-        cleanAndUpdate(getWorld(), true, false);
+        // Strays are checked right away here, a scheduled check would run after they're already written.
+        for (UUID id : strayCandidates) {
+            removeIfStray(id);
+        }
+        strayCandidates.clear();
         databaseCompound.setInteger("world", world.provider.getDimension());
         databaseCompound.setInteger("nCount", networks.size());
         List<IWorldNetwork> iWorldNetworks = networks.values().stream().collect(Collectors.toList());
         for (int i = 0; i < iWorldNetworks.size(); i++) {
             databaseCompound.setTag("n" + i, iWorldNetworks.get(i).serializeNBT());
         }
+        databaseCompound.setInteger("cCount", coldNetworks.size());
+        List<NBTTagCompound> coldNetworks = Lists.newArrayList(this.coldNetworks.values());
+        for (int i = 0; i < coldNetworks.size(); i++) {
+            databaseCompound.setTag("c" + i, coldNetworks.get(i));
+        }
 
         databaseCompound.setInteger("rnCount", remappedNodes.size());
         List<Map.Entry<Pair<BlockPos, EnumFacing>, UUID>> remappedNodes = this.remappedNodes.entrySet().stream().collect(Collectors.toList());
@@ -186,6 +322,17 @@ public class WorldNetworkDatabase extends WorldSavedData {
             WorldNetwork network = new WorldNetwork(world, null, true);
             network.deserializeNBT(compound.getCompoundTag("n" + i));
         }
+        // Networks in chunks that never load get no unload event, so each one is checked once after loading.
+        if (TeckleMod.CONFIG.coldNetworkStorage) {
+            for (UUID id : Lists.newArrayList(networks.keySet())) {
+                queueEvictionCheck(id);
+            }
+        }
+        // Cold networks stay serialized, they're only decoded once something in their chunks loads.
+        for (int i = 0; i < compound.getInteger("cCount"); i++) {
+            NBTTagCompound coldCompound = compound.getCompoundTag("c" + i);
+            coldNetworks.put(coldCompound.getUniqueId("id"), coldCompound);
+        }
         TeckleLog.debug("Deserialized networks in {}, total is {}", world.provider.getDimension(), networks.size());
 
         if (!compound.hasKey("rnCount"))
@@ -206,6 +353,8 @@ public class WorldNetworkDatabase extends WorldSavedData {
      * @return the associated worldnetwork, or a new network if one was not already present.
      */
     public IWorldNetwork get(UUID id) {
+        if (!networks.containsKey(id) && coldNetworks.containsKey(id))
+            restore(id);
         if (!networks.containsKey(id))
             networks.put(id, new WorldNetwork(world, id));
 
@@ -219,7 +368,74 @@ public class WorldNetworkDatabase extends WorldSavedData {
      * @return true if present, false otherwise.
      */
     public boolean isNetworkPresent(UUID id) {
-        return networks.containsKey(id);
+        return networks.containsKey(id) || coldNetworks.containsKey(id);
+    }
+
+    /**
+     * Check if the given network is the one registered for its id, false once it's been evicted, removed or replaced.
+     *
+     * @param network the network to check.
+     * @return true if the network is live in this database.
+     */
+    public boolean isNetworkLoaded(IWorldNetwork network) {
+        return networks.get(network.getNetworkID()) == network;
+    }
+
+    /**
+     * Check the network with the given id for eviction once the scheduler gets to it, does nothing if a check is already queued.
+     * The check runs on a later tick, after the chunk that triggered it has left the provider.
+     *
+     * @param id the id of the network to check.
+     */
+    private void queueEvictionCheck(UUID id) {
+        if (!evictionChecks.add(id))
+            return;
+
+        scheduler.schedule(WorldNetworkScheduler.Priority.LOW, () -> {
+            evictionChecks.remove(id);
+            IWorldNetwork n = networks.get(id);
+            if (!(n instanceof WorldNetwork) || n.getNodePositions().isEmpty() || ((WorldNetwork) n).countLoadedChunks() > 0)
+                return true;
+
+            if (((WorldNetwork) n).canEvict()) {
+                evict((WorldNetwork) n);
+            } else {
+                deferredEvictions.add(id);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Serialize a network with no loaded nodes and drop it from memory, it's restored the next time it's requested.
+     *
+     * @param network the network to evict.
+     */
+    private void evict(WorldNetwork network) {
+        UUID id = network.getNetworkID();
+        coldNetworks.put(id, network.serializeNBT());
+        network.nodeStream().map(NodeContainer::getNetworkTile).filter(Objects::nonNull).forEach(this::removePendingLinks);
+        PositionData.removeNetwork(world.provider.getDimension(), id, network.getNodePositions());
+        networks.remove(id);
+        activeNetworks.remove(id);
+        strayCandidates.remove(id);
+        TeckleLog.debug("Moved {} to cold storage, {} networks are now cold", network, coldNetworks.size());
+    }
+
+    /**
+     * Decode and register a network from cold storage.
+     * Called from get while a tile in one of the network's chunks reads its NBT, the tile needs the network right away to
+     * bind to its node so this can't be deferred. It's safe on the server thread: the loading chunk isn't in the provider
+     * yet so nodes there bind as unloaded and don't look up tiles, every other lookup is gated on the chunk being loaded,
+     * and travellers and listener notifications are left to the scheduler just like a world load.
+     *
+     * @param id the id of the network to restore.
+     */
+    private void restore(UUID id) {
+        NBTTagCompound coldCompound = coldNetworks.remove(id);
+        WorldNetwork network = new WorldNetwork(world, null, true);
+        network.deserializeNBT(coldCompound);
+        TeckleLog.debug("Restored {} from cold storage", network);
     }
 
     private void onTick(TickEvent.WorldTickEvent e) {
@@ -231,6 +447,7 @@ public class WorldNetworkDatabase extends WorldSavedData {
                 return;
             boolean doSearch = this.cooldownTime <= 0;
             cleanAndUpdate(e.world, doSearch, true);
+            scheduler.run(TeckleMod.CONFIG.networkTickBudget * 1000000L);
 
             if (this.cooldownTime <= 0) {
                 this.cooldownTime = TeckleMod.CONFIG.databaseCleaningCooldown;
@@ -248,19 +465,50 @@ public class WorldNetworkDatabase extends WorldSavedData {
         this.disabled = true;
     }
 
+    /**
+     * Remove the network with the given id if it has no nodes left or none of its nodes have a network tile.
+     *
+     * @param id the id of the network to check.
+     */
+    private void removeIfStray(UUID id) {
+        IWorldNetwork n = networks.get(id);
+        if (n != null && (n.getNodePositions().isEmpty() || n.nodeStream().noneMatch(NodeContainer::hasNetworkTile))) {
+            TeckleLog.debug("Removing {}", n);
+            PositionData.removeNetwork(world.provider.getDimension(), n.getNetworkID(), n.getNodePositions());
+            networks.remove(id);
+        }
+    }
+
     private void cleanAndUpdate(World world, boolean doSearch, boolean update) {
-        Predicate<IWorldNetwork> isStray = n -> n.getNodePositions().isEmpty()
-                || n.nodeStream().noneMatch(NodeContainer::hasNetworkTile);
-        if (doSearch) {
-            int sizePre = networks.size();
-            networks.values().stream().filter(isStray).forEach(n -> TeckleLog.debug("Removing {}", n));
-            networks.values().removeIf(isStray);
-            if (sizePre != networks.size())
-                TeckleLog.debug("Cleaned networks, initial size: {}, post size: {}, diff: {}", sizePre,
-                        networks.size(), sizePre - networks.size());
+        if (doSearch && !strayCandidates.isEmpty()) {
+            // Each candidate is checked as its own task so a large batch is spread over several ticks.
+            for (UUID id : strayCandidates) {
+                scheduler.schedule(WorldNetworkScheduler.Priority.LOW, () -> {
+                    removeIfStray(id);
+                    return true;
+                });
+            }
+            strayCandidates.clear();
+        }
+        if (doSearch && !deferredEvictions.isEmpty()) {
+            for (UUID id : deferredEvictions) {
+                queueEvictionCheck(id);
+            }
+            deferredEvictions.clear();
+        }
+        if (update) {
+            for (UUID id : Lists.newArrayList(activeNetworks)) {
+                IWorldNetwork network = networks.get(id);
+                if (network == null || !Objects.equals(network.getWorld(), world)) {
+                    activeNetworks.remove(id);
+                    continue;
+                }
+
+                network.update();
+                if (!network.requiresUpdate())
+                    activeNetworks.remove(id);
+            }
         }
-        if (update)
-            Lists.newArrayList(networks.values()).stream().filter(n -> Objects.equals(n.getWorld(), world)).forEach(ITickable::update);
     }
 
     @Override
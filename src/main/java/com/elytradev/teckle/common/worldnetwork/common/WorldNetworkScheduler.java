@@ -0,0 +1,105 @@
+/*
+ *    Copyright 2017 Benjamin K (darkevilmac)
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.elytradev.teckle.common.worldnetwork.common;
+
+import com.elytradev.teckle.common.TeckleLog;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+
+/**
+ * Runs non-urgent network work within a time budget each tick, anything left over carries to the next tick.
+ * Higher priorities are always drained first, tasks of the same priority run in the order they were scheduled.
+ */
+public class WorldNetworkScheduler {
+
+    private final EnumMap<Priority, Deque<Task>> queues = new EnumMap<>(Priority.class);
+
+    public WorldNetworkScheduler() {
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Queue a task to be run on a later tick.
+     *
+     * @param priority the priority of the task.
+     * @param task     the task to run.
+     */
+    public void schedule(Priority priority, Task task) {
+        queues.get(priority).add(task);
+    }
+
+    /**
+     * Run queued tasks until the budget runs out, at least one step is always run so work can't stall.
+     *
+     * @param budgetNanos the time the scheduler may spend this tick, in nanoseconds.
+     */
+    public void run(long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        do {
+            Deque<Task> queue = nextQueue();
+            if (queue == null)
+                return;
+
+            Task task = queue.peek();
+            boolean finished = true;
+            try {
+                finished = task.run();
+            } catch (Exception e) {
+                TeckleLog.error("Caught exception in scheduled network task, dropping it. {}", e);
+                e.printStackTrace();
+            }
+            if (finished)
+                queue.removeFirstOccurrence(task);
+        } while (System.nanoTime() < deadline);
+    }
+
+    private Deque<Task> nextQueue() {
+        for (Deque<Task> queue : queues.values()) {
+            if (!queue.isEmpty())
+                return queue;
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return nextQueue() == null;
+    }
+
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    /**
+     * A piece of scheduled work, may be run several times if it has more work than fits in a step.
+     */
+    @FunctionalInterface
+    public interface Task {
+        /**
+         * Run a step of the task.
+         *
+         * @return true if the task is finished, false to run it again.
+         */
+        boolean run();
+    }
+}
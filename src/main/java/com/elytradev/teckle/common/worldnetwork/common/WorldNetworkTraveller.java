@@ -17,13 +17,17 @@
 package com.elytradev.teckle.common.worldnetwork.common;
 
 import com.elytradev.teckle.api.IWorldNetwork;
+import com.elytradev.teckle.common.TeckleMod;
 import com.elytradev.teckle.common.network.messages.clientbound.TravellerDataMessage;
 import com.elytradev.teckle.common.network.messages.clientbound.TravellerMoveMessage;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkEndpoint;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkEntryPoint;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkNode;
 import com.elytradev.teckle.common.worldnetwork.common.pathing.EndpointData;
+import com.elytradev.teckle.common.worldnetwork.common.pathing.NetworkSnapshot;
+import com.elytradev.teckle.common.worldnetwork.common.pathing.PathFrontier;
 import com.elytradev.teckle.common.worldnetwork.common.pathing.PathNode;
+import com.elytradev.teckle.common.worldnetwork.common.pathing.RouteFinder;
 import com.elytradev.teckle.common.worldnetwork.common.pathing.WorldNetworkPath;
 import com.google.common.collect.Maps;
 import net.minecraft.nbt.NBTTagCompound;
@@ -36,6 +40,8 @@ import net.minecraftforge.common.util.INBTSerializable;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
@@ -45,6 +51,8 @@ import java.util.stream.Collectors;
 public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTagCompound> {
 
     public static final WorldNetworkTraveller NONE = new WorldNetworkTraveller(new NBTTagCompound());
+    // Ticks between checks for a traveller waiting next to an endpoint in an unloaded chunk.
+    private static final int TRANSIT_PARK_TICKS = 20;
     public static HashMap<WorldNetworkEntryPoint, List<Tuple<EndpointData, Boolean>>> roundRobinMap = Maps.newHashMap();
 
     public IWorldNetwork network;
@@ -52,11 +60,26 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
     public WorldNetworkPath activePath;
     // The current distance travelled between our previous node, and the increment node.
     public float travelledDistance = 0F;
+    // Distance covered each tick, depends on the node the traveller is currently in.
+    private float speed = 1F / 10F;
+    // World tick the traveller comes out of an unloaded stretch of its path at, -1 while it isn't in transit.
+    private long transitArrival = -1;
+    private int transitTarget;
+    // World tick a traveller parked next to an unloaded endpoint checks the endpoint again, -1 while it isn't parked.
+    private long parkedUntil = -1;
     public NBTTagCompound data;
     public List<ImmutablePair<WorldNetworkNode, EnumFacing>> triedEndpoints = new ArrayList<>();
     public HashMap<String, IDropAction> dropActions = new HashMap<>();
     protected WorldNetworkEntryPoint entryPoint;
     private BiPredicate<WorldNetworkNode, EnumFacing> endpointPredicate = (o0, o1) -> true;
+    // Route search running on a worker thread, the traveller waits at its current node until it's committed.
+    private Future<List<int[]>> pendingRoute;
+    private NetworkSnapshot pendingSnapshot;
+    private Runnable pendingCommit;
+    // Set when a node on our route may have been removed, presence checks are skipped while it's clear.
+    private boolean routeInvalidated = true;
+    // The endpoint holding room for us, released once we're delivered, rerouted or removed.
+    private WorldNetworkEndpoint reservedEndpoint;
 
     public WorldNetworkTraveller(NBTTagCompound data) {
         this.entryPoint = null;
@@ -100,17 +123,17 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
     }
 
     public void genPath(boolean attemptReroute) {
-        List<PathNode> nodeStack = new ArrayList<>();
-        List<BlockPos> iteratedPositions = new ArrayList<>();
+        PathFrontier frontier = new PathFrontier();
         HashMap<BlockPos, HashMap<EnumFacing, EndpointData>> endpoints = new HashMap<>();
 
-        nodeStack.add(new PathNode(null, currentNode, null));
-        while (!nodeStack.isEmpty()) {
-            PathNode pathNode = nodeStack.remove(nodeStack.size() - 1);
+        if (canReachEndpoint(currentNode))
+            frontier.add(new PathNode(null, currentNode, null));
+        PathNode pathNode;
+        while ((pathNode = frontier.poll()) != null) {
             for (EnumFacing direction : EnumFacing.VALUES) {
                 BlockPos neighbourPos = pathNode.realNode.getPosition().add(direction.getDirectionVec());
                 if (!network.isNodePresent(neighbourPos, direction.getOpposite()) ||
-                        iteratedPositions.contains(neighbourPos) ||
+                        frontier.isVisited(neighbourPos) ||
                         endpoints.containsKey(neighbourPos) && endpoints.get(neighbourPos).containsKey(direction.getOpposite())) {
                     continue;
                 }
@@ -129,8 +152,7 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
                         endpoints.get(neighbourPos).put(direction.getOpposite(), new EndpointData(nextNode, direction.getOpposite()));
                     } else {
                         if (network.getNode(neighbourPos, direction.getOpposite()).canConnectTo(direction.getOpposite())) {
-                            nodeStack.add(new PathNode(pathNode, network.getNode(neighbourPos, direction.getOpposite()), direction.getOpposite()));
-                            iteratedPositions.add(neighbourPos);
+                            frontier.add(new PathNode(pathNode, network.getNode(neighbourPos, direction.getOpposite()), direction.getOpposite()));
                         }
                     }
                 }
@@ -148,13 +170,13 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
             triedEndpoints.clear();
             genPath(false);
             if (Objects.equals(this.activePath, lastPath)) {
-                nodeStack = new ArrayList<>();
-                iteratedPositions = new ArrayList<>();
+                List<PathNode> nodeStack = new ArrayList<>();
+                List<BlockPos> iteratedPositions = new ArrayList<>();
                 endpoints = new HashMap<>();
 
                 nodeStack.add(new PathNode(null, currentNode, null));
                 while (!nodeStack.isEmpty()) {
-                    PathNode pathNode = nodeStack.remove(nodeStack.size() - 1);
+                    pathNode = nodeStack.remove(nodeStack.size() - 1);
                     for (EnumFacing direction : EnumFacing.VALUES) {
                         BlockPos neighbourPos = pathNode.realNode.getPosition().add(direction.getDirectionVec());
                         if (!network.isNodePresent(neighbourPos, direction.getOpposite()) ||
@@ -193,13 +215,191 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
         if (sortedEndpointData.isEmpty())
             return;
 
-        WorldNetworkPath path = WorldNetworkPath.createPath(this, sortedEndpointData.get(0));
+        applyPath(WorldNetworkPath.createPath(this, sortedEndpointData.get(0)));
+    }
+
+    /**
+     * Check the colour layers of the network snapshot before searching, a coloured traveller walled off by other colours skips the search.
+     *
+     * @param start the node the search starts from.
+     * @return false if the traveller can't reach an endpoint or entry point from the node, true if it might.
+     */
+    private boolean canReachEndpoint(WorldNetworkNode start) {
+        if (start == null || !data.hasKey("colour") || !(network instanceof WorldNetwork))
+            return true;
+
+        NetworkSnapshot snapshot = ((WorldNetwork) network).getSnapshot();
+        int index = snapshot.indexOf(start);
+        return index == -1 || snapshot.canReachEndpoint(index, data.getInteger("colour"));
+    }
+
+    private void applyPath(WorldNetworkPath path) {
         this.previousNode = path.next();
         this.currentNode = path.next();
         this.nextNode = path.next();
-        this.activePath = path;
         this.travelledDistance = -0.10F;
         this.network = currentNode.getNetwork();
+        setActivePath(path);
+        setSpeedMultiplier(currentNode.getSpeedMultiplier());
+    }
+
+    public float getSpeed() {
+        return speed;
+    }
+
+    public void setSpeedMultiplier(float speedMultiplier) {
+        this.speed = speedMultiplier / 10F;
+    }
+
+    /**
+     * Set the path this traveller follows, updates the route index of the network if the traveller is registered.
+     *
+     * @param path the new path.
+     */
+    public void setActivePath(WorldNetworkPath path) {
+        this.activePath = path;
+        this.routeInvalidated = false;
+        if (network instanceof WorldNetwork)
+            ((WorldNetwork) network).indexTraveller(this);
+
+        releaseReservation();
+        if (path != null && path != WorldNetworkPath.NOT_POSSIBLE && path.getEnd().realNode instanceof WorldNetworkEndpoint) {
+            reservedEndpoint = (WorldNetworkEndpoint) path.getEnd().realNode;
+            reservedEndpoint.reserve(this);
+        }
+    }
+
+    public void releaseReservation() {
+        if (reservedEndpoint != null) {
+            reservedEndpoint.release(this);
+            reservedEndpoint = null;
+        }
+    }
+
+    /**
+     * Flag the route of this traveller as possibly broken, it will check the remaining nodes on its next update.
+     */
+    public void invalidateRoute() {
+        this.routeInvalidated = true;
+    }
+
+    /**
+     * Checks that every node left on the route is still present in the network.
+     */
+    private boolean isRemainingRoutePresent() {
+        if (activePath == null || activePath == WorldNetworkPath.NOT_POSSIBLE)
+            return network.isNodePresent(nextNode.getPosition());
+
+        for (int i = Math.max(0, activePath.getIndex() - 1); i < activePath.getPath().size(); i++) {
+            if (!network.isNodePresent(activePath.getNode(i).getPosition()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Generate a new path from the current node, then run the given callback.
+     * With async pathfinding the search runs on a worker and the callback runs once the result is committed.
+     *
+     * @param onPath called once the new path has been applied.
+     */
+    private void repath(Runnable onPath) {
+        if (TeckleMod.CONFIG.asyncPathfinding && network instanceof WorldNetwork) {
+            NetworkSnapshot snapshot = ((WorldNetwork) network).getSnapshot();
+            int start = snapshot.indexOf(currentNode);
+            if (start != -1) {
+                this.pendingSnapshot = snapshot;
+                this.pendingCommit = onPath;
+                BitSet excluded = new BitSet();
+                for (ImmutablePair<WorldNetworkNode, EnumFacing> triedEndpoint : triedEndpoints) {
+                    int index = snapshot.indexOf(triedEndpoint.getLeft());
+                    if (index != -1)
+                        excluded.set(index);
+                }
+                this.pendingRoute = RouteFinder.submit(snapshot, ((WorldNetwork) network).getRouteCosts(snapshot), start,
+                        data.hasKey("colour") ? data.getInteger("colour") : -1, excluded);
+                return;
+            }
+        }
+
+        genPath(true);
+        onPath.run();
+    }
+
+    private void cancelPendingRoute() {
+        if (pendingRoute != null)
+            pendingRoute.cancel(false);
+        this.pendingRoute = null;
+        this.pendingSnapshot = null;
+        this.pendingCommit = null;
+    }
+
+    /**
+     * Apply the first route from the finished search that's still valid, falls back to a regular search if none are.
+     */
+    private void commitPendingRoute() {
+        List<int[]> routes;
+        try {
+            routes = pendingRoute.get();
+        } catch (InterruptedException | ExecutionException e) {
+            routes = Collections.emptyList();
+        }
+        NetworkSnapshot snapshot = pendingSnapshot;
+        Runnable onPath = pendingCommit;
+        cancelPendingRoute();
+
+        boolean stale = snapshot.network != network || !(network instanceof WorldNetwork)
+                || ((WorldNetwork) network).getTopologyEpoch() != snapshot.epoch;
+        WorldNetworkPath path = null;
+        for (int[] route : routes) {
+            path = validateRoute(snapshot, route, stale);
+            if (path != null)
+                break;
+        }
+
+        if (path != null) {
+            applyPath(path);
+        } else {
+            genPath(true);
+        }
+        onPath.run();
+    }
+
+    /**
+     * Check a route found on a snapshot against the live network, acceptance checks need world access so they're done here.
+     *
+     * @param snapshot the snapshot the route was found on.
+     * @param route    the node indices of the route.
+     * @param stale    true if the topology changed since the snapshot, checks each node is still present.
+     * @return the path for the route, or null if it's no longer valid.
+     */
+    private WorldNetworkPath validateRoute(NetworkSnapshot snapshot, int[] route, boolean stale) {
+        if (route.length < 2)
+            return null;
+
+        PathNode pathNode = new PathNode(null, snapshot.getNode(route[0]), null);
+        EnumFacing face = null;
+        for (int i = 1; i < route.length; i++) {
+            WorldNetworkNode from = pathNode.realNode;
+            WorldNetworkNode node = snapshot.getNode(route[i]);
+            face = getFacingFromVector(node.getPosition().subtract(from.getPosition())).getOpposite();
+            if (stale && network.getNode(node.getPosition(), face) != node)
+                return null;
+            if (!node.canAcceptTraveller(this, face))
+                return null;
+
+            if (i == route.length - 1) {
+                if (triedEndpoints.contains(new ImmutablePair<>(node, face)))
+                    return null;
+                if (!isValidEndpoint(this, from.getPosition(), node.getPosition()) || !endpointPredicate.test(node, face))
+                    return null;
+            } else if (!node.canConnectTo(face)) {
+                return null;
+            }
+            pathNode = new PathNode(pathNode, node, face);
+        }
+
+        return WorldNetworkPath.createPath(this, new EndpointData(pathNode, face));
     }
 
     /**
@@ -212,17 +412,18 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
         if (!network.isNodePresent(startPos))
             return false;
 
-        List<PathNode> nodeStack = new ArrayList<>();
-        List<BlockPos> iteratedPositions = new ArrayList<>();
+        PathFrontier frontier = new PathFrontier();
         HashMap<BlockPos, HashMap<EnumFacing, EndpointData>> endpoints = new HashMap<>();
 
-        nodeStack.add(new PathNode(null, network.getNode(startPos, entryPoint.getOutputFace().getOpposite()), entryPoint.getOutputFace().getOpposite()));
-        while (!nodeStack.isEmpty()) {
-            PathNode pathNode = nodeStack.remove(nodeStack.size() - 1);
+        WorldNetworkNode startNode = network.getNode(startPos, entryPoint.getOutputFace().getOpposite());
+        if (canReachEndpoint(startNode))
+            frontier.add(new PathNode(null, startNode, entryPoint.getOutputFace().getOpposite()));
+        PathNode pathNode;
+        while ((pathNode = frontier.poll()) != null) {
             for (EnumFacing direction : EnumFacing.VALUES) {
                 BlockPos neighbourPos = pathNode.realNode.getPosition().add(direction.getDirectionVec());
                 if (!network.isNodePresent(neighbourPos) || neighbourPos.equals(entryPoint.getPosition()) ||
-                        iteratedPositions.contains(neighbourPos) ||
+                        frontier.isVisited(neighbourPos) ||
                         endpoints.containsKey(neighbourPos) && endpoints.get(neighbourPos).containsKey(direction.getOpposite())) {
                     continue;
                 }
@@ -242,8 +443,7 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
                                         direction.getOpposite()));
                     } else {
                         if (network.getNode(neighbourPos, direction.getOpposite()).canConnectTo(direction.getOpposite())) {
-                            nodeStack.add(new PathNode(pathNode, network.getNode(neighbourPos, direction.getOpposite()), direction.getOpposite()));
-                            iteratedPositions.add(neighbourPos);
+                            frontier.add(new PathNode(pathNode, network.getNode(neighbourPos, direction.getOpposite()), direction.getOpposite()));
                         }
                     }
                 }
@@ -332,12 +532,13 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
             path = WorldNetworkPath.createPath(this, sortedEndpointData.get(0));
         }
 
-        this.activePath = path;
         this.previousNode = path.next();
         this.currentNode = path.next();
         this.nextNode = path.next();
+        setActivePath(path);
         this.travelledDistance = -0.25F;
         this.currentNode.registerTraveller(this);
+        setSpeedMultiplier(currentNode.getSpeedMultiplier());
 
         return true;
     }
@@ -355,18 +556,35 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
 
     @Override
     public void update() {
-        if (!network.isNodePresent(currentNode.getPosition())) {
-            // Unregister before dropping because drop actions will empty our nbt.
-            this.network.unregisterTraveller(this, false, true);
-            dropActions.values().forEach(action -> action.dropToWorld(WorldNetworkTraveller.this));
+        if (routeInvalidated) {
+            if (!network.isNodePresent(currentNode.getPosition())) {
+                cancelPendingRoute();
+                // Unregister before dropping because drop actions will empty our nbt.
+                this.network.unregisterTraveller(this, false, true);
+                dropActions.values().forEach(action -> action.dropToWorld(WorldNetworkTraveller.this));
+                return;
+            }
+            // Stay flagged until everything ahead is present, the checks below repath when the next node is missing.
+            if (isRemainingRoutePresent())
+                routeInvalidated = false;
+        }
+
+        // Travellers next to a loaded endpoint can still be delivered, anything else skips the unloaded part of its path.
+        if (!currentNode.isLoaded() && !(nextNode.isEndpoint() && nextNode.isLoaded())) {
+            updateTransit();
             return;
         }
+        transitArrival = -1;
+        parkedUntil = -1;
 
-        if (!currentNode.isLoaded())
+        if (pendingRoute != null) {
+            if (pendingRoute.isDone())
+                commitPendingRoute();
             return;
+        }
 
         if (travelledDistance >= 0.5F) {
-            if (!network.isNodePresent(nextNode.getPosition()) || !nextNode.isEndpoint() && !nextNode.canAcceptTraveller(this, getFacingVector())) {
+            if (routeInvalidated && !network.isNodePresent(nextNode.getPosition()) || !nextNode.isEndpoint() && !nextNode.canAcceptTraveller(this, getFacingVector())) {
                 EnumFacing injectionFace = getFacingFromVector(activePath.getEnd().realNode.getPosition().subtract(activePath.getEnd().from.realNode.getPosition())).getOpposite();
                 triedEndpoints.add(new ImmutablePair<>(activePath.getEnd().realNode, injectionFace));
                 quickRepath();
@@ -375,33 +593,25 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
                     if (travelledDistance >= 1.25F) {
                         travelledDistance = 0F;
                         EnumFacing injectionFace = getFacingFromVector(nextNode.getPosition().subtract(currentNode.getPosition())).getOpposite();
-                        boolean didInject = ((WorldNetworkEndpoint) nextNode).inject(this, injectionFace);
-
-                        if (!didInject) {
-                            new TravellerDataMessage(TravellerDataMessage.Action.UNREGISTER, this).sendToAllWatching(network.getWorld(), this.currentNode.getPosition());
-                            triedEndpoints.add(new ImmutablePair<>(nextNode, injectionFace));
-                            previousNode.unregisterTraveller(this);
-                            currentNode.unregisterTraveller(this);
-                            genPath(true);
-                            currentNode.registerTraveller(this);
-                            travelledDistance = -1.15F;
-                            TravellerDataMessage message = new TravellerDataMessage(TravellerDataMessage.Action.REGISTER, this, currentNode.getPosition(), previousNode.getPosition());
-                            message.travelledDistance = travelledDistance;
-                            message.sendToAllWatching(this.network.getWorld(), this.currentNode.getPosition());
+                        WorldNetworkEndpoint endpoint = (WorldNetworkEndpoint) nextNode;
+                        if (network instanceof WorldNetwork) {
+                            // Inserted together with everything else reaching the endpoint this tick.
+                            ((WorldNetwork) network).queueDelivery(this, endpoint, injectionFace);
                         } else {
-                            network.unregisterTraveller(this, false, true);
+                            onDelivered(endpoint, injectionFace, endpoint.inject(this, injectionFace));
                         }
                     }
                 } else if (nextNode.getPosition().equals(activePath.getEnd().realNode.getPosition())) {
                     if (travelledDistance >= 1.25F) {
                         previousNode.unregisterTraveller(this);
                         currentNode.unregisterTraveller(this);
-                        genPath(true);
-                        new TravellerDataMessage(TravellerDataMessage.Action.UNREGISTER, this).sendToAllWatching(network.getWorld(), currentNode.getPosition());
-                        travelledDistance = -1.1F;
-                        TravellerDataMessage message = new TravellerDataMessage(TravellerDataMessage.Action.REGISTER, this, currentNode.getPosition(), previousNode.getPosition());
-                        message.travelledDistance = travelledDistance;
-                        message.sendToAllWatching(this.network.getWorld(), this.currentNode.getPosition());
+                        repath(() -> {
+                            new TravellerDataMessage(TravellerDataMessage.Action.UNREGISTER, this).sendToAllWatching(network.getWorld(), currentNode.getPosition());
+                            travelledDistance = -1.1F;
+                            TravellerDataMessage message = new TravellerDataMessage(TravellerDataMessage.Action.REGISTER, this, currentNode.getPosition(), previousNode.getPosition());
+                            message.travelledDistance = travelledDistance;
+                            message.sendToAllWatching(this.network.getWorld(), this.currentNode.getPosition());
+                        });
                     }
                 } else {
                     travelledDistance = 0;
@@ -411,24 +621,110 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
 
                     previousNode.unregisterTraveller(this);
                     currentNode.registerTraveller(this);
+                    setSpeedMultiplier(currentNode.getSpeedMultiplier());
                 }
             }
         }
 
-        travelledDistance += 1F / 10F;
+        travelledDistance += speed;
     }
 
-    public void quickRepath() {
+    /**
+     * Finish a delivery to an endpoint, the traveller is removed if the endpoint took everything or sent elsewhere if not.
+     *
+     * @param endpoint      the endpoint the traveller was injected into.
+     * @param injectionFace the face of the endpoint the traveller entered from.
+     * @param didInject     true if the endpoint took everything the traveller carried.
+     */
+    public void onDelivered(WorldNetworkEndpoint endpoint, EnumFacing injectionFace, boolean didInject) {
+        releaseReservation();
+        if (!didInject) {
+            new TravellerDataMessage(TravellerDataMessage.Action.UNREGISTER, this).sendToAllWatching(network.getWorld(), this.currentNode.getPosition());
+            triedEndpoints.add(new ImmutablePair<>(endpoint, injectionFace));
+            previousNode.unregisterTraveller(this);
+            currentNode.unregisterTraveller(this);
+            repath(() -> {
+                currentNode.registerTraveller(this);
+                travelledDistance = -1.15F;
+                TravellerDataMessage message = new TravellerDataMessage(TravellerDataMessage.Action.REGISTER, this, currentNode.getPosition(), previousNode.getPosition());
+                message.travelledDistance = travelledDistance;
+                message.sendToAllWatching(this.network.getWorld(), this.currentNode.getPosition());
+            });
+        } else {
+            network.unregisterTraveller(this, false, true);
+        }
+    }
+
+    /**
+     * Move through the unloaded part of the path without loading anything, the traveller reappears at the first loaded
+     * node ahead once the time it would have taken to get there has passed. If nothing ahead is loaded it waits next to
+     * its endpoint until the endpoint loads.
+     */
+    private void updateTransit() {
+        if (pendingRoute != null || activePath == null || activePath == WorldNetworkPath.NOT_POSSIBLE)
+            return;
+
+        long worldTime = network.getWorld().getTotalWorldTime();
+        if (worldTime < parkedUntil)
+            return;
+        parkedUntil = -1;
+
+        int endIndex = activePath.getPath().size() - 1;
+        if (transitArrival < 0) {
+            // Already waiting next to the endpoint, only look at it again after a while.
+            if (activePath.getIndex() >= endIndex) {
+                parkedUntil = worldTime + TRANSIT_PARK_TICKS;
+                return;
+            }
+
+            int target = activePath.getIndex();
+            float ticks = Math.max(0F, 1F - travelledDistance) / speed;
+            while (target < endIndex && !activePath.getNode(target).isLoaded()) {
+                ticks += 10F / activePath.getNode(target).getSpeedMultiplier();
+                target++;
+            }
+            transitTarget = target;
+            transitArrival = worldTime + (long) Math.ceil(ticks);
+            return;
+        }
+        if (worldTime < transitArrival)
+            return;
+
+        transitArrival = -1;
+        new TravellerDataMessage(TravellerDataMessage.Action.UNREGISTER, this).sendToAllWatching(network.getWorld(), currentNode.getPosition());
         previousNode.unregisterTraveller(this);
         currentNode.unregisterTraveller(this);
-        genPath(true);
+        if (transitTarget >= endIndex) {
+            // Wait in the last node before the endpoint, ready to be injected.
+            activePath.setIndex(endIndex - 3);
+            travelledDistance = 1F;
+        } else {
+            activePath.setIndex(transitTarget - 2);
+            travelledDistance = 0F;
+        }
+        previousNode = activePath.next();
+        currentNode = activePath.next();
+        nextNode = activePath.next();
         currentNode.registerTraveller(this);
-        new TravellerDataMessage(TravellerDataMessage.Action.UNREGISTER, this).sendToAllWatching(network.getWorld(), currentNode.getPosition());
-        if (travelledDistance > 0.5F)
-            travelledDistance = 0.5F;
+        setSpeedMultiplier(currentNode.getSpeedMultiplier());
+
         TravellerDataMessage message = new TravellerDataMessage(TravellerDataMessage.Action.REGISTER, this, currentNode.getPosition(), previousNode.getPosition());
         message.travelledDistance = travelledDistance;
-        message.sendToAllWatching(this.network.getWorld(), this.currentNode.getPosition());
+        message.sendToAllWatching(network.getWorld(), currentNode.getPosition());
+    }
+
+    public void quickRepath() {
+        previousNode.unregisterTraveller(this);
+        currentNode.unregisterTraveller(this);
+        repath(() -> {
+            currentNode.registerTraveller(this);
+            new TravellerDataMessage(TravellerDataMessage.Action.UNREGISTER, this).sendToAllWatching(network.getWorld(), currentNode.getPosition());
+            if (travelledDistance > 0.5F)
+                travelledDistance = 0.5F;
+            TravellerDataMessage message = new TravellerDataMessage(TravellerDataMessage.Action.REGISTER, this, currentNode.getPosition(), previousNode.getPosition());
+            message.travelledDistance = travelledDistance;
+            message.sendToAllWatching(this.network.getWorld(), this.currentNode.getPosition());
+        });
     }
 
     @Override
@@ -461,6 +757,9 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
                     : triedEndpoint.getLeft().getCapabilityFace().getIndex());
         }
 
+        if (activePath != null && activePath != WorldNetworkPath.NOT_POSSIBLE)
+            tagCompound.setTag("path", activePath.writeToNBT(entryPoint));
+
         tagCompound.setInteger("actions", dropActions.size());
         for (int i = 0; i < dropActions.size(); i++) {
             tagCompound.setString("action" + i, (String) dropActions.keySet().toArray()[i]);
@@ -502,6 +801,30 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
         }
     }
 
+    /**
+     * Attempt to restore the path that was saved with this traveller, avoids a full search if the network is unchanged.
+     *
+     * @param nbt the tag the traveller was deserialized from.
+     * @return true if the saved path was still valid and has been restored, false if a repath is required.
+     */
+    public boolean restorePath(NBTTagCompound nbt) {
+        if (!nbt.hasKey("path") || currentNode == null)
+            return false;
+
+        WorldNetworkPath path = WorldNetworkPath.readFromNBT(network, entryPoint, nbt.getCompoundTag("path"));
+        if (path == null)
+            return false;
+        WorldNetworkNode restoredCurrent = path.getNode(path.getIndex() - 1);
+        if (!Objects.equals(restoredCurrent.getPosition(), currentNode.getPosition()))
+            return false;
+
+        this.previousNode = path.getNode(path.getIndex() - 2);
+        this.currentNode = restoredCurrent;
+        this.nextNode = path.getNode(path.getIndex());
+        setActivePath(path);
+        return true;
+    }
+
     @Override
     public WorldNetworkTraveller clone() {
         WorldNetworkTraveller traveller = new WorldNetworkTraveller(this.data.copy());
@@ -520,9 +843,13 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
 
     public void moveTo(IWorldNetwork newNetwork) {
         IWorldNetwork prevNetwork = this.network;
+        // A search in progress ran on the old network's snapshot, it's started again once this is on the new network.
+        Runnable pendingOnPath = pendingCommit;
+        cancelPendingRoute();
 
         prevNetwork.unregisterTraveller(this, true, false);
         this.network = newNetwork;
+        invalidateRoute();
         this.network.registerTraveller(this, false);
 
         if (!network.isNodePresent(entryPoint.getPosition())) {
@@ -536,7 +863,9 @@ public class WorldNetworkTraveller implements ITickable, INBTSerializable<NBTTag
             return;
         } else {
         }
-        if (!network.isNodePresent(nextNode.getPosition())) {
+        if (pendingOnPath != null) {
+            repath(pendingOnPath);
+        } else if (!network.isNodePresent(nextNode.getPosition())) {
             genPath(true);
             return;
         }
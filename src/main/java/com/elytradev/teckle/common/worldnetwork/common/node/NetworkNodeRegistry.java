@@ -9,6 +9,9 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.registry.RegistryNamespaced;
 import net.minecraftforge.fml.common.event.FMLInterModComms;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
 import java.util.Objects;
 
 /**
@@ -18,6 +21,9 @@ public class NetworkNodeRegistry {
 
     // Kept private, use delegate methods.
     private static RegistryNamespaced<ResourceLocation, Class<? extends WorldNetworkNode>> REGISTRY;
+    private static HashMap<ResourceLocation, Factory> FACTORIES;
+    // Interned palette of the raw ids found in saved data, avoids parsing a ResourceLocation for every node.
+    private static HashMap<String, Factory> PALETTE;
 
     public static void handleIMCEvent(FMLInterModComms.IMCEvent e) {
         for (FMLInterModComms.IMCMessage msg : e.getMessages()) {
@@ -58,14 +64,67 @@ public class NetworkNodeRegistry {
     }
 
     public static void registerNetworkNode(ResourceLocation id, Class<? extends WorldNetworkNode> clazz) {
-        TeckleLog.info("Registering a network node with the following key {}", id);
-        REGISTRY.putObject(id, clazz);
+        registerNetworkNode(id, clazz, createReflectiveFactory(clazz));
     }
 
     public static void registerNetworkNode(String modID, String nodeID, Class<? extends WorldNetworkNode> clazz) {
         registerNetworkNode(new ResourceLocation(modID, nodeID), clazz);
     }
 
+    /**
+     * Register a network node with an explicit factory, preferred over the reflective registration.
+     *
+     * @param id      the id of the network node.
+     * @param clazz   the class of the network node.
+     * @param factory the factory used to create the node when loading networks.
+     */
+    public static void registerNetworkNode(ResourceLocation id, Class<? extends WorldNetworkNode> clazz, @Nullable Factory factory) {
+        TeckleLog.info("Registering a network node with the following key {}", id);
+        REGISTRY.putObject(id, clazz);
+        if (factory != null)
+            FACTORIES.put(id, factory);
+        PALETTE.clear();
+    }
+
+    public static void registerNetworkNode(String modID, String nodeID, Class<? extends WorldNetworkNode> clazz, Factory factory) {
+        registerNetworkNode(new ResourceLocation(modID, nodeID), clazz, factory);
+    }
+
+    @Nullable
+    private static Factory createReflectiveFactory(Class<? extends WorldNetworkNode> clazz) {
+        Constructor<? extends WorldNetworkNode> constructor;
+        try {
+            constructor = clazz.getConstructor(IWorldNetwork.class, BlockPos.class, EnumFacing.class);
+        } catch (NoSuchMethodException e) {
+            TeckleLog.error("Unable to find constructor matching (IWorldNetwork, BlockPos, EnumFacing) {}, the network node will not be created...", clazz.getName());
+            return null;
+        }
+
+        return (network, pos, face) -> {
+            try {
+                return constructor.newInstance(network, pos, face);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Failed to instantiate " + clazz.getName(), e);
+            }
+        };
+    }
+
+    /**
+     * Get the factory for a network node id as it was stored in nbt.
+     *
+     * @param id the string form of the network node id.
+     * @return the factory, or null if nothing is registered with the id.
+     */
+    @Nullable
+    public static Factory getFactory(String id) {
+        Factory factory = PALETTE.get(id);
+        if (factory == null && !PALETTE.containsKey(id)) {
+            factory = FACTORIES.get(new ResourceLocation(id));
+            PALETTE.put(id, factory);
+        }
+        return factory;
+    }
+
     public static Class<? extends WorldNetworkNode> getNetworkNode(ResourceLocation id) {
         return REGISTRY.getObject(id);
     }
@@ -76,5 +135,15 @@ public class NetworkNodeRegistry {
 
     public static void setup() {
         REGISTRY = new RegistryNamespaced<>();
+        FACTORIES = new HashMap<>();
+        PALETTE = new HashMap<>();
+    }
+
+    /**
+     * Creates network nodes when networks are loaded.
+     */
+    @FunctionalInterface
+    public interface Factory {
+        WorldNetworkNode create(IWorldNetwork network, BlockPos pos, EnumFacing face);
     }
 }
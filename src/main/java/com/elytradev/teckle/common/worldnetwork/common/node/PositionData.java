@@ -1,10 +1,10 @@
 package com.elytradev.teckle.common.worldnetwork.common.node;
 
 import com.elytradev.teckle.api.IWorldNetwork;
-import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkDatabase;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 
 import java.util.*;
 import java.util.function.Predicate;
@@ -12,6 +12,8 @@ import java.util.function.Predicate;
 public class PositionData {
 
     private static Map<Integer, Map<BlockPos, PositionData>> POOL = Maps.newHashMap();
+    // The same position data grouped by chunk, lets chunk events reach the nodes they affect.
+    private static Map<Integer, Map<ChunkPos, Set<PositionData>>> CHUNKS = Maps.newHashMap();
 
     public int dimension;
     public BlockPos pos;
@@ -31,18 +33,126 @@ public class PositionData {
      * @return
      */
     public static PositionData getPositionData(int dimension, BlockPos position) {
-        if (!POOL.containsKey(dimension))
-            POOL.put(dimension, Maps.newHashMap());
+        return POOL.computeIfAbsent(dimension, d -> Maps.newHashMap())
+                .computeIfAbsent(position, p -> {
+                    PositionData positionData = new PositionData(dimension, p);
+                    CHUNKS.computeIfAbsent(dimension, d -> Maps.newHashMap())
+                            .computeIfAbsent(new ChunkPos(p), c -> new HashSet<>()).add(positionData);
+                    return positionData;
+                });
+    }
+
+    /**
+     * Drops the cached tile bindings of all nodes at the given position, used when a tile there is validated or invalidated.
+     *
+     * @param dimension the dimension of the position.
+     * @param position  the position that changed.
+     */
+    public static void invalidateBindings(int dimension, BlockPos position) {
+        Map<BlockPos, PositionData> dimensionPool = POOL.get(dimension);
+        PositionData positionData = dimensionPool != null ? dimensionPool.get(position) : null;
+        if (positionData != null)
+            positionData.bindNodes(null);
+    }
+
+    /**
+     * Updates the cached load state of all nodes in the given chunk, used when the chunk loads or unloads.
+     *
+     * @param dimension the dimension of the chunk.
+     * @param chunkPos  the chunk that changed.
+     * @param loaded    true if the chunk is now loaded.
+     */
+    public static void bindChunk(int dimension, ChunkPos chunkPos, boolean loaded) {
+        Map<ChunkPos, Set<PositionData>> dimensionChunks = CHUNKS.get(dimension);
+        Set<PositionData> positions = dimensionChunks != null ? dimensionChunks.get(chunkPos) : null;
+        if (positions == null)
+            return;
+
+        for (PositionData positionData : positions) {
+            positionData.bindNodes(loaded);
+        }
+    }
+
+    /**
+     * Gets the ids of all networks with a node in the given chunk.
+     *
+     * @param dimension the dimension of the chunk.
+     * @param chunkPos  the chunk to check.
+     * @return the network ids, empty if there are none.
+     */
+    public static Set<UUID> getNetworksInChunk(int dimension, ChunkPos chunkPos) {
+        Map<ChunkPos, Set<PositionData>> dimensionChunks = CHUNKS.get(dimension);
+        Set<PositionData> positions = dimensionChunks != null ? dimensionChunks.get(chunkPos) : null;
+        if (positions == null)
+            return Collections.emptySet();
+
+        Set<UUID> networkIDs = new HashSet<>();
+        for (PositionData positionData : positions) {
+            networkIDs.addAll(positionData.networkIDS());
+        }
+        return networkIDs;
+    }
+
+    private void bindNodes(Boolean loaded) {
+        for (List<NodeContainer> containers : nodeContainers.values()) {
+            for (NodeContainer container : containers) {
+                if (container.getNode() != null)
+                    container.getNode().invalidateBinding(loaded);
+            }
+        }
+    }
 
+    /**
+     * Removes all the node containers belonging to a network from the given positions,
+     * used when a network is removed from its database.
+     *
+     * @param dimension the dimension the network is in.
+     * @param networkID the id of the removed network.
+     * @param positions the positions the network had nodes at.
+     */
+    public static void removeNetwork(int dimension, UUID networkID, Collection<BlockPos> positions) {
         Map<BlockPos, PositionData> dimensionPool = POOL.get(dimension);
-        if (!dimensionPool.containsKey(position))
-            dimensionPool.put(position, new PositionData(dimension, position));
+        if (dimensionPool == null)
+            return;
+
+        for (BlockPos position : positions) {
+            PositionData positionData = dimensionPool.get(position);
+            if (positionData != null)
+                positionData.removeNetwork(networkID);
+        }
+    }
+
+    /**
+     * Drops all position data for a dimension, used when the dimension unloads.
+     *
+     * @param dimension the dimension to clear.
+     */
+    public static void clearDimension(int dimension) {
+        POOL.remove(dimension);
+        CHUNKS.remove(dimension);
+    }
 
-        // Clear stray data.
-        dimensionPool.get(position).nodeContainers.keySet().removeIf(uuid -> !WorldNetworkDatabase.getNetworkDB(dimension).isNetworkPresent(uuid));
-        //dimensionPool.get(position).nodeContainers.values().removeIf(List::isEmpty);
+    /**
+     * Removes this position from the pool once no network has a node here.
+     */
+    private void evictIfEmpty() {
+        if (!nodeContainers.isEmpty())
+            return;
 
-        return dimensionPool.get(position);
+        Map<BlockPos, PositionData> dimensionPool = POOL.get(dimension);
+        if (dimensionPool != null && dimensionPool.get(pos) == this) {
+            dimensionPool.remove(pos);
+            if (dimensionPool.isEmpty())
+                POOL.remove(dimension);
+        }
+
+        Map<ChunkPos, Set<PositionData>> dimensionChunks = CHUNKS.get(dimension);
+        Set<PositionData> chunkPositions = dimensionChunks != null ? dimensionChunks.get(new ChunkPos(pos)) : null;
+        if (chunkPositions != null && chunkPositions.remove(this) && chunkPositions.isEmpty()) {
+            dimensionChunks.remove(new ChunkPos(pos));
+            if (dimensionChunks.isEmpty())
+                CHUNKS.remove(dimension);
+        }
     }
 
     public List<NodeContainer> getNodeContainers(UUID key) {
@@ -61,15 +171,16 @@ public class PositionData {
     }
 
     public List<NodeContainer> removeNetwork(UUID networkID) {
-        return nodeContainers.remove(networkID);
+        List<NodeContainer> removed = nodeContainers.remove(networkID);
+        evictIfEmpty();
+        return removed;
     }
 
     public boolean removeNodeContainer(UUID key, NodeContainer nodeContainer) {
-        if (!nodeContainers.containsKey(key))
-            nodeContainers.put(key, Lists.newArrayList());
-
-        boolean result = nodeContainers.get(key).remove(nodeContainer);
+        List<NodeContainer> containers = nodeContainers.get(key);
+        boolean result = containers != null && containers.remove(nodeContainer);
         nodeContainers.values().removeIf(List::isEmpty);
+        evictIfEmpty();
         return result;
     }
 
@@ -86,8 +197,10 @@ public class PositionData {
     }
 
     public boolean removeIf(UUID key, Predicate<NodeContainer> predicate) {
-        boolean result = nodeContainers.get(key).removeIf(predicate);
+        List<NodeContainer> containers = nodeContainers.get(key);
+        boolean result = containers != null && containers.removeIf(predicate);
         nodeContainers.values().removeIf(List::isEmpty);
+        evictIfEmpty();
         return result;
     }
 
@@ -21,6 +21,9 @@ import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkTraveller;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Created by darkevilmac on 3/26/2017.
  */
@@ -39,4 +42,36 @@ public abstract class WorldNetworkEndpoint extends WorldNetworkNode {
      */
     public abstract boolean inject(WorldNetworkTraveller traveller, EnumFacing from);
 
+    /**
+     * Inject all the travellers that reached the endpoint from the same face in one tick.
+     *
+     * @param travellers the travellers to inject, in the order they arrived.
+     * @param from       the face they arrived from.
+     * @return the travellers that weren't fully injected.
+     */
+    public List<WorldNetworkTraveller> injectAll(List<WorldNetworkTraveller> travellers, EnumFacing from) {
+        List<WorldNetworkTraveller> remaining = new ArrayList<>();
+        for (WorldNetworkTraveller traveller : travellers) {
+            if (!inject(traveller, from))
+                remaining.add(traveller);
+        }
+        return remaining;
+    }
+
+    /**
+     * Hold room in the endpoint for a traveller routed to it, so other travellers aren't routed to the same space.
+     *
+     * @param traveller the traveller heading to this endpoint.
+     */
+    public void reserve(WorldNetworkTraveller traveller) {
+    }
+
+    /**
+     * Release the room held for a traveller.
+     *
+     * @param traveller the traveller that no longer needs its reservation.
+     */
+    public void release(WorldNetworkTraveller traveller) {
+    }
+
 }
\ No newline at end of file
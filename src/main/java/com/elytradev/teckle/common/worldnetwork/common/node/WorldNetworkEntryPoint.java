@@ -18,12 +18,18 @@ package com.elytradev.teckle.common.worldnetwork.common.node;
 
 import com.elytradev.teckle.api.IWorldNetwork;
 import com.elytradev.teckle.api.capabilities.WorldNetworkTile;
+import com.elytradev.teckle.common.TeckleMod;
 import com.elytradev.teckle.common.network.messages.clientbound.TravellerDataMessage;
+import com.elytradev.teckle.common.worldnetwork.common.WorldNetwork;
 import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkTraveller;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
 /**
  * A node used to add travellers to a network, handles initial endpoint finding, as well as finding new endpoints when one fails.
  */
@@ -40,6 +46,22 @@ public class WorldNetworkEntryPoint extends WorldNetworkNode {
 
     private EnumFacing outputFace = EnumFacing.DOWN;
 
+    // The most failed routes remembered, the least recently used one is forgotten first.
+    private static final int FAILED_ROUTE_LIMIT = 64;
+
+    // Data that no endpoint accepted, keyed by the traveller data without the stack count.
+    private LinkedHashMap<NBTTagCompound, FailedRoute> failedRoutes = new LinkedHashMap<NBTTagCompound, FailedRoute>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<NBTTagCompound, FailedRoute> eldest) {
+            return size() > FAILED_ROUTE_LIMIT;
+        }
+    };
+    private IWorldNetwork failedRoutesNetwork;
+    private long failedRoutesTopologyEpoch, failedRoutesContentsEpoch, failedRoutesColourEpoch;
+    // The last traveller sent out, identical travellers added shortly after join it instead of leaving on their own.
+    private WorldNetworkTraveller convoyLeader;
+    private long convoyLeaderTick;
+
     public WorldNetworkEntryPoint(IWorldNetwork network, BlockPos position, EnumFacing capabilityFace, EnumFacing outputFace) {
         this.setNetwork(network);
         this.setPosition(position);
@@ -51,17 +73,105 @@ public class WorldNetworkEntryPoint extends WorldNetworkNode {
     }
 
     public WorldNetworkTraveller addTraveller(NBTTagCompound data, boolean send) {
+        NBTTagCompound signature = getFailedRouteKey(data);
+        long worldTime = getNetwork().getWorld().getTotalWorldTime();
+        FailedRoute failedRoute = signature != null ? failedRoutes.get(signature) : null;
+        if (failedRoute != null && worldTime < failedRoute.retryAt)
+            return WorldNetworkTraveller.NONE;
+        if (getNetwork() instanceof WorldNetwork && !((WorldNetwork) getNetwork()).admitTraveller(this, !send))
+            return WorldNetworkTraveller.NONE;
+
         WorldNetworkTraveller traveller = new WorldNetworkTraveller(this, data);
-        if (traveller.genInitialPath()) {
-            getNetwork().registerTraveller(traveller, false);
-            if (send) {
-                new TravellerDataMessage(TravellerDataMessage.Action.REGISTER, traveller, traveller.currentNode.getPosition(),
-                        traveller.previousNode.getPosition()).sendToAllWatching(getNetwork().getWorld(), getPosition());
+        if (!traveller.genInitialPath()) {
+            // Simulated adds are probes for a real add, backing off here would delay the add they're checking for.
+            if (signature != null && send) {
+                // Routes that could have been retried a while ago won't be asked for again, don't keep them around.
+                failedRoutes.values().removeIf(route -> worldTime - route.retryAt > TeckleMod.CONFIG.failedRouteBackoffLimit);
+                if (failedRoute == null || !failedRoutes.containsKey(signature)) {
+                    failedRoute = new FailedRoute();
+                    failedRoutes.put(signature, failedRoute);
+                }
+                failedRoute.failures = Math.min(failedRoute.failures + 1, 16);
+                failedRoute.retryAt = worldTime + Math.min(1L << failedRoute.failures, TeckleMod.CONFIG.failedRouteBackoffLimit);
             }
-            return traveller;
+            return WorldNetworkTraveller.NONE;
         }
 
-        return WorldNetworkTraveller.NONE;
+        if (failedRoute != null)
+            failedRoutes.remove(signature);
+        getNetwork().registerTraveller(traveller, false);
+        if (send) {
+            convoyLeader = traveller;
+            convoyLeaderTick = worldTime;
+            new TravellerDataMessage(TravellerDataMessage.Action.REGISTER, traveller, traveller.currentNode.getPosition(),
+                    traveller.previousNode.getPosition()).sendToAllWatching(getNetwork().getWorld(), getPosition());
+        }
+        return traveller;
+    }
+
+    /**
+     * Get the last traveller sent out from this entry point if a traveller with the given data can still join it.
+     * Data that's backing off after a failed route can't join either, the same as it couldn't be added.
+     *
+     * @param data              the data of the traveller that would be added.
+     * @param endpointPredicate the endpoint predicate the traveller would be given.
+     * @return the traveller to join, or null if a new traveller is needed.
+     */
+    public WorldNetworkTraveller getConvoyLeader(NBTTagCompound data, BiPredicate<WorldNetworkNode, EnumFacing> endpointPredicate) {
+        WorldNetworkTraveller leader = convoyLeader;
+        if (leader == null || TeckleMod.CONFIG.convoyWindow <= 0 || !(getNetwork() instanceof WorldNetwork)
+                || getNetwork().getWorld().getTotalWorldTime() - convoyLeaderTick > TeckleMod.CONFIG.convoyWindow)
+            return null;
+
+        // Only join while the leader is still in the first node, and would pick its endpoint the same way.
+        if (!((WorldNetwork) getNetwork()).isTravellerPresent(leader) || leader.previousNode != this
+                || leader.travelledDistance >= 0.5F || leader.getEndpointPredicate() != endpointPredicate)
+            return null;
+
+        if (!getSignature(leader.data).equals(getSignature(data)))
+            return null;
+
+        NBTTagCompound signature = getFailedRouteKey(data);
+        FailedRoute failedRoute = signature != null ? failedRoutes.get(signature) : null;
+        return failedRoute != null && getNetwork().getWorld().getTotalWorldTime() < failedRoute.retryAt ? null : leader;
+    }
+
+    /**
+     * Get the key used to remember failed routes for the given data, clears the failed routes if the network changed since
+     * they were recorded.
+     *
+     * @param data the data of the traveller being added.
+     * @return the key for the data, or null if failed routes shouldn't be remembered.
+     */
+    private NBTTagCompound getFailedRouteKey(NBTTagCompound data) {
+        if (TeckleMod.CONFIG.failedRouteBackoffLimit <= 0 || !(getNetwork() instanceof WorldNetwork)) {
+            failedRoutes.clear();
+            return null;
+        }
+
+        WorldNetwork network = (WorldNetwork) getNetwork();
+        if (failedRoutesNetwork != network || failedRoutesTopologyEpoch != network.getTopologyEpoch()
+                || failedRoutesContentsEpoch != network.getContentsEpoch() || failedRoutesColourEpoch != network.getColourEpoch()) {
+            failedRoutes.clear();
+            failedRoutesNetwork = network;
+            failedRoutesTopologyEpoch = network.getTopologyEpoch();
+            failedRoutesContentsEpoch = network.getContentsEpoch();
+            failedRoutesColourEpoch = network.getColourEpoch();
+        }
+
+        return getSignature(data);
+    }
+
+    /**
+     * Get the parts of traveller data that decide where it can go, everything but the stack count and the traveller id.
+     */
+    private static NBTTagCompound getSignature(NBTTagCompound data) {
+        NBTTagCompound signature = data.copy();
+        signature.removeTag("idMost");
+        signature.removeTag("idLeast");
+        if (signature.hasKey("stack"))
+            signature.getCompoundTag("stack").removeTag("Count");
+        return signature;
     }
 
     public EnumFacing getOutputFace() {
@@ -75,4 +185,9 @@ public class WorldNetworkEntryPoint extends WorldNetworkNode {
     public WorldNetworkEndpoint getEndpoint() {
         return endpoint;
     }
-}
\ No newline at end of file
+
+    private static class FailedRoute {
+        private int failures;
+        private long retryAt;
+    }
+}
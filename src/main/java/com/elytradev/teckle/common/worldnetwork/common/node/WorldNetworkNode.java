@@ -20,15 +20,14 @@ import com.elytradev.teckle.api.IWorldNetwork;
 import com.elytradev.teckle.api.capabilities.CapabilityWorldNetworkTile;
 import com.elytradev.teckle.api.capabilities.WorldNetworkTile;
 import com.elytradev.teckle.common.TeckleLog;
+import com.elytradev.teckle.common.TeckleMod;
 import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkTraveller;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.util.INBTSerializable;
 
 import javax.annotation.Nullable;
-import java.lang.reflect.Constructor;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.UUID;
@@ -40,11 +39,22 @@ public class WorldNetworkNode implements INBTSerializable<NBTTagCompound> {
 
     // Empty node, used instead of null because fuck NPEs.
     public static final WorldNetworkNode NONE = new WorldNetworkNode();
+    // Colour mask of a node every traveller can enter, one bit per dye colour.
+    public static final int ALL_COLOURS = 0xFFFF;
+    // Share of the occupancy average kept each tick.
+    private static final float OCCUPANCY_DECAY = 0.95F;
     public WorldNetworkTile tile = null;
     private BlockPos position;
     private EnumFacing capabilityFace = null;
     private IWorldNetwork network;
     private HashMap<UUID, WorldNetworkTraveller> travellers = new HashMap<>();
+    // Traveller count averaged over recent ticks, brought up to date whenever the count changes or is read.
+    private float smoothedOccupancy = 0F;
+    private long occupancySampledAt = -1;
+    // Cached load state and tile lookup, kept until a chunk or tile event at this position invalidates them.
+    private boolean bindingValid = false;
+    private boolean loaded = false;
+    private boolean tileResolved = false;
 
     public WorldNetworkNode() {
         this.setPosition(new BlockPos(0, -1, 0));
@@ -59,31 +69,70 @@ public class WorldNetworkNode implements INBTSerializable<NBTTagCompound> {
 
     @Nullable
     public static WorldNetworkNode create(IWorldNetwork network, BlockPos pos, EnumFacing face, NBTTagCompound serializedData) {
-        ResourceLocation id = new ResourceLocation(serializedData.getString("id"));
-        Class<? extends WorldNetworkNode> tileClazz = NetworkNodeRegistry.getNetworkNode(id);
-        WorldNetworkNode createdTile = null;
-        try {
-            Constructor<? extends WorldNetworkNode> constructor = tileClazz.getConstructor(IWorldNetwork.class, BlockPos.class, EnumFacing.class);
-            createdTile = constructor.newInstance(network, pos, face);
-        } catch (NoSuchMethodException e) {
-            TeckleLog.error("Unable to find constructor matching (IWorldNetwork, BlockPos, EnumFacing) {}, the network tile will not be created...", tileClazz.getName());
+        String id = serializedData.getString("id");
+        NetworkNodeRegistry.Factory factory = NetworkNodeRegistry.getFactory(id);
+        if (factory == null) {
+            TeckleLog.error("No network node is registered with the id {}, the network node will not be created...", id);
             return null;
+        }
+        WorldNetworkNode createdNode;
+        try {
+            createdNode = factory.create(network, pos, face);
         } catch (Exception e) {
-            TeckleLog.error("Failed to instantiate {}, the network node will be skipped.", tileClazz.getName());
+            TeckleLog.error("Failed to instantiate {}, the network node will be skipped.", id);
             e.printStackTrace();
             return null;
         }
-        createdTile.deserializeNBT(serializedData);
-        return createdTile;
+        createdNode.deserializeNBT(serializedData);
+        return createdNode;
     }
 
     public boolean isLoaded() {
-        return getNetwork() != null && getNetwork().getWorld() != null
-                && getNetwork().getWorld().isBlockLoaded(getPosition());
+        if (!bindingValid) {
+            loaded = getNetwork() != null && getNetwork().getWorld() != null
+                    && getNetwork().getWorld().isBlockLoaded(getPosition());
+            bindingValid = true;
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop the cached load state and tile lookup of this node, a tile that was already bound is kept.
+     *
+     * @param loaded the new load state if it's known, null to check the world again on next use.
+     */
+    public void invalidateBinding(@Nullable Boolean loaded) {
+        this.bindingValid = loaded != null;
+        this.loaded = loaded != null && loaded;
+        this.tileResolved = false;
     }
 
     public boolean canAcceptTraveller(WorldNetworkTraveller traveller, EnumFacing from) {
-        return getNetworkTile() == null || getNetworkTile().canAcceptTraveller(traveller, from);
+        WorldNetworkTile networkTile = getNetworkTile();
+        if (networkTile == null)
+            return true;
+
+        switch (networkTile.getAcceptanceClass()) {
+            case STATIC:
+                return true;
+            case COLOUR_GATED:
+                return WorldNetworkTile.acceptsColour(networkTile.getAcceptanceColour(), traveller);
+            default:
+                return networkTile.canAcceptTraveller(traveller, from);
+        }
+    }
+
+    /**
+     * Get the colours a traveller can have to enter this node, one bit per dye colour metadata.
+     * Uncoloured travellers can enter any node, tiles that aren't colour gated report every colour.
+     */
+    public int getColourMask() {
+        WorldNetworkTile networkTile = getNetworkTile();
+        if (networkTile == null || networkTile.getAcceptanceClass() != WorldNetworkTile.AcceptanceClass.COLOUR_GATED
+                || networkTile.getAcceptanceColour() == null)
+            return ALL_COLOURS;
+
+        return 1 << networkTile.getAcceptanceColour().getMetadata();
     }
 
     /**
@@ -97,10 +146,11 @@ public class WorldNetworkNode implements INBTSerializable<NBTTagCompound> {
 
     @Nullable
     public WorldNetworkTile getNetworkTile() {
-        if (tile == null && isLoaded()) {
+        if (tile == null && !tileResolved && isLoaded()) {
             if (CapabilityWorldNetworkTile.isPositionNetworkTile(getNetwork().getWorld(), getPosition(), getCapabilityFace())) {
                 tile = CapabilityWorldNetworkTile.getNetworkTileAtPosition(getNetwork().getWorld(), getPosition(), getCapabilityFace());
             }
+            tileResolved = true;
         }
         return tile;
     }
@@ -114,13 +164,49 @@ public class WorldNetworkNode implements INBTSerializable<NBTTagCompound> {
     }
 
     public void registerTraveller(WorldNetworkTraveller traveller) {
+        sampleOccupancy();
         travellers.put(traveller.data.getUniqueId("id"), traveller);
     }
 
     public void unregisterTraveller(WorldNetworkTraveller traveller) {
+        sampleOccupancy();
         travellers.remove(traveller.data.getUniqueId("id"));
     }
 
+    /**
+     * Forward method for network tiles, returns 1 if no network tile is associated with this.
+     */
+    public float getSpeedMultiplier() {
+        WorldNetworkTile networkTile = getNetworkTile();
+        return networkTile != null ? networkTile.getSpeedMultiplier() : 1F;
+    }
+
+    /**
+     * Get the extra routing cost of passing through this node, based on how busy it has been recently.
+     */
+    public int getCongestionCost() {
+        if (TeckleMod.CONFIG.congestionRoutingWeight <= 0)
+            return 0;
+
+        sampleOccupancy();
+        return Math.round(smoothedOccupancy * TeckleMod.CONFIG.congestionRoutingWeight);
+    }
+
+    /**
+     * Move the occupancy average forward to the current tick, the traveller count is constant since the last sample.
+     */
+    private void sampleOccupancy() {
+        if (getNetwork() == null || getNetwork().getWorld() == null)
+            return;
+
+        long worldTime = getNetwork().getWorld().getTotalWorldTime();
+        if (occupancySampledAt >= 0 && worldTime > occupancySampledAt) {
+            float kept = (float) Math.pow(OCCUPANCY_DECAY, Math.min(worldTime - occupancySampledAt, 1000));
+            smoothedOccupancy = travellers.size() + (smoothedOccupancy - travellers.size()) * kept;
+        }
+        occupancySampledAt = worldTime;
+    }
+
     public EnumFacing getCapabilityFace() {
         return capabilityFace;
     }
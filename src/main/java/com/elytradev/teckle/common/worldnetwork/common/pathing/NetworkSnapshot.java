@@ -0,0 +1,316 @@
+/*
+ *    Copyright 2017 Benjamin K (darkevilmac)
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.elytradev.teckle.common.worldnetwork.common.pathing;
+
+import com.elytradev.teckle.api.IWorldNetwork;
+import com.elytradev.teckle.common.worldnetwork.common.node.NodeContainer;
+import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkEntryPoint;
+import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkNode;
+import net.minecraft.item.EnumDyeColor;
+import net.minecraft.util.EnumFacing;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable copy of a network's topology at a given epoch, safe to search from worker threads.
+ * Holds the nodes it was captured from, only calls into them from the server thread.
+ * Per-colour reachability layers are computed on first use and shared with copies that didn't change that colour.
+ */
+public final class NetworkSnapshot {
+
+    // The network this was captured from, epochs are per network so they only mean something together with it.
+    public final IWorldNetwork network;
+    public final long epoch;
+
+    private final WorldNetworkNode[] nodes;
+    // Index of the neighbour in each direction, 6 entries per node, -1 if there is none.
+    private final int[] neighbours;
+    // Endpoints end a route, nodes that can't be expanded are never routed through.
+    private final boolean[] endpoints;
+    private final boolean[] expandable;
+    // Bit per face, set if the node could be connected to from that face when captured.
+    private final byte[] connectMasks;
+    // Bit per dye colour, set if a traveller of that colour can enter the node.
+    private final short[] colourMasks;
+    private final IdentityHashMap<WorldNetworkNode, Integer> indices;
+    // Reachability layer for each colour, null until a traveller of that colour searches.
+    private final AtomicReferenceArray<ColourLayer> layers;
+
+    private NetworkSnapshot(IWorldNetwork network, long epoch, WorldNetworkNode[] nodes, int[] neighbours, boolean[] endpoints,
+                            boolean[] expandable, byte[] connectMasks, short[] colourMasks,
+                            IdentityHashMap<WorldNetworkNode, Integer> indices, AtomicReferenceArray<ColourLayer> layers) {
+        this.network = network;
+        this.epoch = epoch;
+        this.nodes = nodes;
+        this.neighbours = neighbours;
+        this.endpoints = endpoints;
+        this.expandable = expandable;
+        this.connectMasks = connectMasks;
+        this.colourMasks = colourMasks;
+        this.indices = indices;
+        this.layers = layers;
+    }
+
+    /**
+     * Capture the topology of a network, must be called on the server thread.
+     *
+     * @param network the network to capture.
+     * @param epoch   the topology epoch of the network.
+     * @return the captured snapshot.
+     */
+    public static NetworkSnapshot capture(IWorldNetwork network, long epoch) {
+        List<NodeContainer> containers = network.getNodes();
+        IdentityHashMap<WorldNetworkNode, Integer> indices = new IdentityHashMap<>();
+        List<WorldNetworkNode> nodeList = new ArrayList<>(containers.size());
+        for (NodeContainer container : containers) {
+            WorldNetworkNode node = container.getNode();
+            if (node != null && !indices.containsKey(node)) {
+                indices.put(node, nodeList.size());
+                nodeList.add(node);
+            }
+        }
+
+        WorldNetworkNode[] nodes = nodeList.toArray(new WorldNetworkNode[0]);
+        int[] neighbours = new int[nodes.length * 6];
+        boolean[] endpoints = new boolean[nodes.length];
+        boolean[] expandable = new boolean[nodes.length];
+        byte[] connectMasks = new byte[nodes.length];
+        short[] colourMasks = new short[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            WorldNetworkNode node = nodes[i];
+            colourMasks[i] = (short) node.getColourMask();
+            endpoints[i] = node.isEndpoint();
+            expandable[i] = !endpoints[i] && !(node instanceof WorldNetworkEntryPoint);
+            for (EnumFacing direction : EnumFacing.VALUES) {
+                if (node.canConnectTo(direction))
+                    connectMasks[i] |= 1 << direction.getIndex();
+
+                WorldNetworkNode neighbour = network.getNode(node.getPosition().offset(direction), direction.getOpposite());
+                Integer neighbourIndex = neighbour != null ? indices.get(neighbour) : null;
+                neighbours[i * 6 + direction.getIndex()] = neighbourIndex != null ? neighbourIndex : -1;
+            }
+        }
+
+        return new NetworkSnapshot(network, epoch, nodes, neighbours, endpoints, expandable, connectMasks, colourMasks, indices,
+                new AtomicReferenceArray<>(EnumDyeColor.values().length));
+    }
+
+    /**
+     * Copy this snapshot with a new colour mask for one node, only the layers of colours that changed are dropped.
+     * Must be called on the server thread.
+     *
+     * @param node       the node that was painted.
+     * @param colourMask the new colour mask of the node.
+     * @return the updated snapshot, or this snapshot if the node isn't part of it or its mask didn't change.
+     */
+    public NetworkSnapshot withColourMask(WorldNetworkNode node, int colourMask) {
+        int index = indexOf(node);
+        if (index == -1 || colourMasks[index] == (short) colourMask)
+            return this;
+
+        int changed = (colourMasks[index] ^ colourMask) & WorldNetworkNode.ALL_COLOURS;
+        short[] newColourMasks = colourMasks.clone();
+        newColourMasks[index] = (short) colourMask;
+        AtomicReferenceArray<ColourLayer> newLayers = new AtomicReferenceArray<>(layers.length());
+        for (int colour = 0; colour < layers.length(); colour++) {
+            if ((changed & (1 << colour)) == 0)
+                newLayers.set(colour, layers.get(colour));
+        }
+        return new NetworkSnapshot(network, epoch, nodes, neighbours, endpoints, expandable, connectMasks, newColourMasks, indices, newLayers);
+    }
+
+    /**
+     * Check if any endpoint or entry point can be reached from the given node by a traveller of the given colour.
+     * Entry points count since a traveller with nowhere else to go returns to one.
+     * Only reads the snapshot, may be called from any thread.
+     *
+     * @param start  the index of the node to start from.
+     * @param colour the colour metadata of the traveller, -1 if it has none.
+     * @return false if neither is reachable, true if one might be.
+     */
+    public boolean canReachEndpoint(int start, int colour) {
+        if (colour < 0)
+            return true;
+
+        ColourLayer layer = getLayer(colour);
+        int component = layer.components[start];
+        return component < 0 || layer.componentsWithEndpoints.get(component);
+    }
+
+    private ColourLayer getLayer(int colour) {
+        ColourLayer layer = layers.get(colour);
+        if (layer == null) {
+            layer = new ColourLayer(colour);
+            // Another worker may have built the same layer, either copy is correct.
+            layers.compareAndSet(colour, null, layer);
+        }
+        return layer;
+    }
+
+    /**
+     * Get the cost of passing through each node of this snapshot, the same costs a search on the server thread uses.
+     * Must be called on the server thread, congestion changes every tick so the result isn't kept by the snapshot.
+     *
+     * @return the cost of each node, by index.
+     */
+    public int[] captureCosts() {
+        int[] costs = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            costs[i] = PathNode.getCost(nodes[i]);
+        }
+        return costs;
+    }
+
+    /**
+     * Find routes from the given node to every reachable endpoint, weighted by node cost so routes come out cheapest first.
+     * Only reads the snapshot, may be called from any thread. Nodes gated to another colour than the traveller's are skipped.
+     *
+     * @param start    the index of the node to start from.
+     * @param costs    the cost of each node, from {@link #captureCosts()}.
+     * @param limit    the maximum amount of routes to find.
+     * @param colour   the colour metadata of the traveller, -1 if it has none.
+     * @param excluded indices of endpoints the traveller already tried, never returned as a route end.
+     * @return the routes found, each an array of node indices from the start to the endpoint.
+     */
+    public List<int[]> findRoutes(int start, int[] costs, int limit, int colour, BitSet excluded) {
+        if (!canReachEndpoint(start, colour))
+            return Collections.emptyList();
+
+        int[] parents = new int[nodes.length];
+        Arrays.fill(parents, -2);
+        parents[start] = -1;
+        int[] distances = new int[nodes.length];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        distances[start] = 0;
+        boolean[] settled = new boolean[nodes.length];
+
+        List<int[]> routes = new ArrayList<>();
+        // Entries pack the distance in the high bits and the node index in the low bits so they sort by distance.
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        queue.add((long) start);
+        while (!queue.isEmpty() && routes.size() < limit) {
+            int from = (int) (long) queue.poll();
+            if (settled[from])
+                continue;
+            settled[from] = true;
+            if (from != start && endpoints[from]) {
+                routes.add(trace(parents, from));
+                continue;
+            }
+
+            for (EnumFacing direction : EnumFacing.VALUES) {
+                int to = neighbours[from * 6 + direction.getIndex()];
+                if (to < 0 || settled[to])
+                    continue;
+                if (colour >= 0 && (colourMasks[to] & (1 << colour)) == 0)
+                    continue;
+                if (endpoints[to] ? excluded.get(to)
+                        : !expandable[to] || (connectMasks[to] & (1 << direction.getOpposite().getIndex())) == 0)
+                    continue;
+
+                int distance = distances[from] + costs[to];
+                if (distance < distances[to]) {
+                    distances[to] = distance;
+                    parents[to] = from;
+                    queue.add(((long) distance << 32) | to);
+                }
+            }
+        }
+        return routes;
+    }
+
+    private int[] trace(int[] parents, int end) {
+        int length = 0;
+        for (int i = end; i != -1; i = parents[i]) {
+            length++;
+        }
+        int[] route = new int[length];
+        for (int i = end; i != -1; i = parents[i]) {
+            route[--length] = i;
+        }
+        return route;
+    }
+
+    /**
+     * Get the index of a node in this snapshot.
+     *
+     * @param node the node to find.
+     * @return the index, or -1 if the node wasn't part of the network when captured.
+     */
+    public int indexOf(WorldNetworkNode node) {
+        Integer index = indices.get(node);
+        return index != null ? index : -1;
+    }
+
+    public WorldNetworkNode getNode(int index) {
+        return nodes[index];
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * The nodes a traveller of one colour can enter, grouped into connected components.
+     * Connections are treated as two way and endpoints as passable, so a component can only be larger than what a search reaches.
+     */
+    private final class ColourLayer {
+        // Component of each node, -1 if the colour can't enter it.
+        private final int[] components;
+        private final BitSet componentsWithEndpoints = new BitSet();
+
+        private ColourLayer(int colour) {
+            components = new int[nodes.length];
+            Arrays.fill(components, -2);
+
+            int bit = 1 << colour;
+            int componentCount = 0;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int i = 0; i < nodes.length; i++) {
+                if (components[i] != -2)
+                    continue;
+                if ((colourMasks[i] & bit) == 0) {
+                    components[i] = -1;
+                    continue;
+                }
+
+                int component = componentCount++;
+                components[i] = component;
+                queue.add(i);
+                while (!queue.isEmpty()) {
+                    int from = queue.poll();
+                    if (endpoints[from] || !expandable[from])
+                        componentsWithEndpoints.set(component);
+                    for (int direction = 0; direction < 6; direction++) {
+                        int to = neighbours[from * 6 + direction];
+                        if (to < 0 || components[to] != -2)
+                            continue;
+                        if ((colourMasks[to] & bit) == 0) {
+                            components[to] = -1;
+                            continue;
+                        }
+
+                        components[to] = component;
+                        queue.add(to);
+                    }
+                }
+            }
+        }
+    }
+}
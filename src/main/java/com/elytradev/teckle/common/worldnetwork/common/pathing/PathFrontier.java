@@ -0,0 +1,74 @@
+/*
+ *    Copyright 2017 Benjamin K (darkevilmac)
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.elytradev.teckle.common.worldnetwork.common.pathing;
+
+import net.minecraft.util.math.BlockPos;
+
+import java.util.*;
+
+/**
+ * The nodes left to expand during a path search, the cheapest node is always expanded next so faster and less busy
+ * nodes are preferred over the fewest hops.
+ */
+public class PathFrontier {
+
+    private final PriorityQueue<PathNode> queue = new PriorityQueue<>(Comparator.comparingInt(n -> n.cost));
+    private final Set<BlockPos> visited = new HashSet<>();
+    private final Map<BlockPos, Integer> queuedCosts = new HashMap<>();
+
+    /**
+     * Add a node to expand, ignored if its position was already expanded or queued for less.
+     *
+     * @param node the node to add.
+     */
+    public void add(PathNode node) {
+        BlockPos position = node.realNode.getPosition();
+        if (visited.contains(position))
+            return;
+        Integer queuedCost = queuedCosts.get(position);
+        if (queuedCost != null && queuedCost <= node.cost)
+            return;
+
+        queuedCosts.put(position, node.cost);
+        queue.add(node);
+    }
+
+    /**
+     * Take the next node to expand.
+     *
+     * @return the node, or null once the search is exhausted.
+     */
+    public PathNode poll() {
+        PathNode node;
+        while ((node = queue.poll()) != null) {
+            // Skip entries that were queued again for less, or whose position was expanded already.
+            if (visited.add(node.realNode.getPosition()))
+                return node;
+        }
+        return null;
+    }
+
+    /**
+     * Check if a position was already expanded.
+     *
+     * @param position the position to check.
+     * @return true if the position shouldn't be added again.
+     */
+    public boolean isVisited(BlockPos position) {
+        return visited.contains(position);
+    }
+}
@@ -23,6 +23,9 @@ import net.minecraft.util.EnumFacing;
  * Used to store tagCompound about the usefulness of a node for making a path.
  */
 public class PathNode {
+    // Cost of passing through a node at normal speed, leaves room for faster nodes to cost less.
+    public static final int NODE_COST = 4;
+
     public int cost;
     public PathNode from;
     public EnumFacing faceFrom;
@@ -31,7 +34,20 @@ public class PathNode {
     public PathNode(PathNode from, WorldNetworkNode realNode, EnumFacing faceFrom) {
         this.from = from;
         this.realNode = realNode;
-        this.cost = from != null ? from.cost + 1 : 0;
+        this.cost = from != null ? from.cost + getCost(realNode) : 0;
         this.faceFrom = faceFrom;
     }
+
+    /**
+     * The cost of passing through the given node, faster nodes cost less and congested ones more.
+     *
+     * @param node the node to pass through.
+     * @return the cost of the node.
+     */
+    public static int getCost(WorldNetworkNode node) {
+        if (node == null)
+            return NODE_COST;
+
+        return Math.max(1, Math.round(NODE_COST / node.getSpeedMultiplier())) + node.getCongestionCost() * NODE_COST;
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ *    Copyright 2017 Benjamin K (darkevilmac)
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.elytradev.teckle.common.worldnetwork.common.pathing;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Searches network snapshots for routes on worker threads, results are committed by the traveller on the server thread.
+ */
+public class RouteFinder {
+
+    // The most routes returned per search, the traveller tries them in order when committing.
+    public static final int ROUTE_LIMIT = 32;
+
+    private static ExecutorService WORKERS;
+
+    /**
+     * Queue a route search on the worker pool.
+     *
+     * @param snapshot the snapshot to search.
+     * @param costs    the cost of each node in the snapshot.
+     * @param start    the index of the node to start from.
+     * @param colour   the colour metadata of the traveller, -1 if it has none.
+     * @param excluded indices of endpoints the traveller already tried.
+     * @return a future holding the routes found, cheapest first.
+     */
+    public static Future<List<int[]>> submit(NetworkSnapshot snapshot, int[] costs, int start, int colour, BitSet excluded) {
+        return getWorkers().submit(() -> snapshot.findRoutes(start, costs, ROUTE_LIMIT, colour, excluded));
+    }
+
+    private static ExecutorService getWorkers() {
+        if (WORKERS == null) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            WORKERS = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                    .setNameFormat("Teckle Route Finder #%d").setDaemon(true).build());
+        }
+        return WORKERS;
+    }
+}
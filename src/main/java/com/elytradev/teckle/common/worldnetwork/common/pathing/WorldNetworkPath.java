@@ -17,18 +17,27 @@
 package com.elytradev.teckle.common.worldnetwork.common.pathing;
 
 import com.elytradev.concrete.network.Marshallable;
+import com.elytradev.teckle.api.IWorldNetwork;
 import com.elytradev.teckle.common.TeckleLog;
 import com.elytradev.teckle.common.worldnetwork.common.DummyWorldNetworkEndpoint;
 import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkTraveller;
+import com.elytradev.teckle.common.worldnetwork.common.node.NodeContainer;
+import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkEntryPoint;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkNode;
 import io.netty.buffer.ByteBuf;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * More or less a wrapper for a list that makes code easier to understand.
@@ -37,6 +46,10 @@ public class WorldNetworkPath implements Marshallable {
 
     public static final WorldNetworkPath NOT_POSSIBLE = new WorldNetworkPath(null, null);
 
+    // Packed face layout for saved paths, 3 bits for the face the node was entered from, 3 for the capability face.
+    private static final int NO_FACE = 7;
+    private static final int RETURN_FLAG = 1 << 6;
+
     private List<PathNode> path;
     private int index = -1;
 
@@ -164,4 +177,102 @@ public class WorldNetworkPath implements Marshallable {
         return path.get(path.size() - 1);
     }
 
+    /**
+     * Get the node at the given index of the path without moving along it.
+     *
+     * @param i the index of the node.
+     * @return the node, or NONE if the index is outside of the path.
+     */
+    public WorldNetworkNode getNode(int i) {
+        if (i < 0 || i >= path.size())
+            return WorldNetworkNode.NONE;
+        WorldNetworkNode node = path.get(i).realNode;
+        return node != null ? node : WorldNetworkNode.NONE;
+    }
+
+    /**
+     * Write a compact form of this path to nbt, one long per position and one byte of packed faces per node.
+     *
+     * @param entryPoint the entry point of the traveller, used to mark returns to the entry point.
+     * @return the serialized path.
+     */
+    public NBTTagCompound writeToNBT(@Nullable WorldNetworkEntryPoint entryPoint) {
+        NBTTagCompound tag = new NBTTagCompound();
+        NBTTagList positions = new NBTTagList();
+        byte[] faces = new byte[path.size()];
+        for (int i = 0; i < path.size(); i++) {
+            PathNode pathNode = path.get(i);
+            positions.appendTag(new NBTTagLong(pathNode.realNode.getPosition().toLong()));
+            int packed = packFace(pathNode.faceFrom) | packFace(pathNode.realNode.getCapabilityFace()) << 3;
+            if (entryPoint != null && pathNode.realNode == entryPoint.getEndpoint())
+                packed |= RETURN_FLAG;
+            faces[i] = (byte) packed;
+        }
+        tag.setTag("positions", positions);
+        tag.setByteArray("faces", faces);
+        tag.setInteger("index", index);
+        return tag;
+    }
+
+    /**
+     * Restore a path written by writeToNBT against the given network.
+     * Only does lookups by position, a full search is never performed here.
+     *
+     * @param network    the network the path should exist in.
+     * @param entryPoint the entry point of the traveller that owns the path.
+     * @param tag        the serialized path.
+     * @return the restored path, or null if the path no longer matches the network and a repath is required.
+     */
+    @Nullable
+    public static WorldNetworkPath readFromNBT(IWorldNetwork network, @Nullable WorldNetworkEntryPoint entryPoint, NBTTagCompound tag) {
+        NBTTagList positions = tag.getTagList("positions", Constants.NBT.TAG_LONG);
+        byte[] faces = tag.getByteArray("faces");
+        if (positions.tagCount() == 0 || faces.length != positions.tagCount())
+            return null;
+
+        WorldNetworkPath out = new WorldNetworkPath();
+        PathNode from = null;
+        for (int i = 0; i < positions.tagCount(); i++) {
+            BlockPos pos = BlockPos.fromLong(((NBTTagLong) positions.get(i)).getLong());
+            EnumFacing faceFrom = unpackFace(faces[i] & 7);
+            EnumFacing capFace = unpackFace(faces[i] >> 3 & 7);
+            if (from != null && from.realNode.getPosition().distanceSq(pos) != 1)
+                return null;
+
+            WorldNetworkNode node = null;
+            if ((faces[i] & RETURN_FLAG) != 0) {
+                if (entryPoint != null && entryPoint.getPosition().equals(pos))
+                    node = entryPoint.getEndpoint();
+            } else {
+                for (NodeContainer container : network.getNodeContainersAtPosition(pos)) {
+                    if (Objects.equals(container.getFacing(), capFace)) {
+                        node = container.getNode();
+                        break;
+                    }
+                }
+            }
+            if (node == null)
+                return null;
+
+            PathNode pathNode = new PathNode(from, node, faceFrom);
+            out.path.add(pathNode);
+            from = pathNode;
+        }
+
+        int savedIndex = tag.getInteger("index");
+        if (!from.realNode.isEndpoint() || savedIndex < 1 || savedIndex > out.path.size())
+            return null;
+        out.index = savedIndex;
+        return out;
+    }
+
+    private static int packFace(@Nullable EnumFacing face) {
+        return face == null ? NO_FACE : face.getIndex();
+    }
+
+    @Nullable
+    private static EnumFacing unpackFace(int packed) {
+        return packed == NO_FACE ? null : EnumFacing.VALUES[packed];
+    }
+
 }
@@ -17,6 +17,8 @@
 package com.elytradev.teckle.common.worldnetwork.item;
 
 import com.elytradev.teckle.api.IWorldNetwork;
+import com.elytradev.teckle.common.TeckleMod;
+import com.elytradev.teckle.common.worldnetwork.common.WorldNetwork;
 import com.elytradev.teckle.common.worldnetwork.common.WorldNetworkTraveller;
 import com.elytradev.teckle.common.worldnetwork.common.node.WorldNetworkEndpoint;
 import net.minecraft.item.ItemStack;
@@ -27,62 +29,271 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class ItemNetworkEndpoint extends WorldNetworkEndpoint {
 
+    // The slot each kind of item was last inserted into, keyed by the stack tag without the count.
+    private HashMap<NBTTagCompound, SlotHint> slotHints = new HashMap<>();
+    // Bumped when the inventory next to this endpoint changes from outside the network, hints from older versions are dropped.
+    private long contentsVersion = 0;
+    // Travellers routed here, their stacks count against the room left for other travellers.
+    private HashMap<WorldNetworkTraveller, Reservation> reservations = new HashMap<>();
+
     public ItemNetworkEndpoint(IWorldNetwork network, BlockPos pos, EnumFacing capabilityFace) {
         super(network, pos, capabilityFace);
     }
 
     @Override
     public boolean inject(WorldNetworkTraveller traveller, EnumFacing from) {
-        TileEntity endPointTile = getNetwork().getWorld().getTileEntity(getPosition());
+        IItemHandler itemHandler = getItemHandler(from);
 
-        if (endPointTile != null) {
-            if (endPointTile.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, from)) {
-                IItemHandler itemHandler = endPointTile.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, from);
+        if (itemHandler != null) {
+            ItemStack dataStack = insert(itemHandler, getSignature(traveller), new ItemStack(traveller.data.getCompoundTag("stack")).copy());
+            if (!dataStack.isEmpty())
+                traveller.data.setTag("stack", dataStack.writeToNBT(new NBTTagCompound()));
 
-                ItemStack dataStack = new ItemStack(traveller.data.getCompoundTag("stack")).copy();
-                for (int slot = 0; slot < itemHandler.getSlots(); slot++) {
-                    dataStack = itemHandler.insertItem(slot, dataStack, false);
+            return dataStack.isEmpty();
+        }
 
-                    if (dataStack.isEmpty())
-                        break;
-                }
+        return false;
+    }
 
-                if (!dataStack.isEmpty())
-                    traveller.data.setTag("stack", dataStack.writeToNBT(new NBTTagCompound()));
+    @Override
+    public List<WorldNetworkTraveller> injectAll(List<WorldNetworkTraveller> travellers, EnumFacing from) {
+        if (travellers.size() == 1)
+            return super.injectAll(travellers, from);
+
+        IItemHandler itemHandler = getItemHandler(from);
+        if (itemHandler == null)
+            return new ArrayList<>(travellers);
+
+        // Merge identical stacks so each kind of item only walks the slots once.
+        LinkedHashMap<NBTTagCompound, List<WorldNetworkTraveller>> travellersBySignature = new LinkedHashMap<>();
+        for (WorldNetworkTraveller traveller : travellers) {
+            travellersBySignature.computeIfAbsent(getSignature(traveller), s -> new ArrayList<>()).add(traveller);
+        }
 
-                return dataStack.isEmpty();
+        List<WorldNetworkTraveller> remaining = new ArrayList<>();
+        for (Map.Entry<NBTTagCompound, List<WorldNetworkTraveller>> entry : travellersBySignature.entrySet()) {
+            List<WorldNetworkTraveller> signatureTravellers = entry.getValue();
+            List<ItemStack> stacks = new ArrayList<>();
+            int total = 0;
+            for (WorldNetworkTraveller traveller : signatureTravellers) {
+                ItemStack stack = new ItemStack(traveller.data.getCompoundTag("stack"));
+                stacks.add(stack);
+                total += stack.getCount();
+            }
+
+            ItemStack merged = stacks.get(0).copy();
+            merged.setCount(total);
+            int remainder = insert(itemHandler, entry.getKey(), merged).getCount();
+            // The latest arrivals keep whatever didn't fit.
+            for (int i = signatureTravellers.size() - 1; i >= 0 && remainder > 0; i--) {
+                WorldNetworkTraveller traveller = signatureTravellers.get(i);
+                ItemStack stack = stacks.get(i);
+                stack.setCount(Math.min(stack.getCount(), remainder));
+                remainder -= stack.getCount();
+                traveller.data.setTag("stack", stack.writeToNBT(new NBTTagCompound()));
+                remaining.add(traveller);
             }
         }
 
-        return false;
+        return remaining;
     }
 
-    private boolean canInject(WorldNetworkTraveller traveller, EnumFacing from) {
+    /**
+     * Insert a stack into the handler, starting at the slot that took the item last time and wrapping around so every
+     * slot is still tried.
+     *
+     * @param itemHandler the handler to insert into.
+     * @param signature   the stack tag of the item without the count.
+     * @param stack       the stack to insert, may be larger than the item's max stack size.
+     * @return the part of the stack that didn't fit.
+     */
+    private ItemStack insert(IItemHandler itemHandler, NBTTagCompound signature, ItemStack stack) {
+        SlotHint hint = getSlotHint(signature);
+        int slots = itemHandler.getSlots();
+        int firstSlot = hint != null && hint.slot >= 0 && hint.slot < slots ? hint.slot : 0;
+        int lastSlot = -1;
+        for (int i = 0; i < slots; i++) {
+            int slot = (firstSlot + i) % slots;
+            int count = stack.getCount();
+            stack = itemHandler.insertItem(slot, stack, false);
+            if (stack.getCount() != count)
+                lastSlot = slot;
+
+            if (stack.isEmpty())
+                break;
+        }
+        putSlotHint(signature, stack.isEmpty() ? lastSlot : -1);
+        return stack;
+    }
+
+    private IItemHandler getItemHandler(EnumFacing from) {
         TileEntity endPointTile = getNetwork().getWorld().getTileEntity(getPosition());
+        if (endPointTile != null && endPointTile.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, from))
+            return endPointTile.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, from);
+
+        return null;
+    }
 
-        if (endPointTile != null) {
-            if (endPointTile.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, from)) {
-                IItemHandler itemHandler = endPointTile.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, from);
+    private boolean canInject(WorldNetworkTraveller traveller, EnumFacing from) {
+        IItemHandler itemHandler = getItemHandler(from);
+
+        if (itemHandler != null) {
+            NBTTagCompound signature = getSignature(traveller);
+            SlotHint hint = getSlotHint(signature);
+            if (hint != null && hint.slot == -1)
+                return false;
+
+            ItemStack dataStack = new ItemStack(traveller.data.getCompoundTag("stack"));
+            int reserved = getReservedCount(signature, traveller);
+            if (reserved > 0)
+                return hasUnreservedRoom(itemHandler, dataStack, reserved);
+
+            ItemStack initialStack = dataStack.copy();
+            if (hint != null && hint.slot < itemHandler.getSlots()
+                    && itemHandler.insertItem(hint.slot, dataStack, true).getCount() != initialStack.getCount())
+                return true;
 
-                ItemStack dataStack = new ItemStack(traveller.data.getCompoundTag("stack"));
-                ItemStack initialStack = dataStack.copy();
-                for (int slot = 0; slot < itemHandler.getSlots(); slot++) {
-                    dataStack = itemHandler.insertItem(slot, dataStack, true);
+            for (int slot = 0; slot < itemHandler.getSlots(); slot++) {
+                dataStack = itemHandler.insertItem(slot, dataStack, true);
 
-                    if (dataStack.isEmpty() || dataStack.getCount() != initialStack.getCount())
-                        return true;
+                if (dataStack.isEmpty() || dataStack.getCount() != initialStack.getCount()) {
+                    putSlotHint(signature, slot);
+                    return true;
                 }
             }
+            putSlotHint(signature, -1);
         }
 
         return false;
     }
 
+    /**
+     * Check if the handler can take some of the stack on top of what's already reserved, every slot is simulated.
+     */
+    private boolean hasUnreservedRoom(IItemHandler itemHandler, ItemStack stack, int reserved) {
+        ItemStack remaining = stack.copy();
+        remaining.setCount(stack.getCount() + reserved);
+        int total = remaining.getCount();
+        for (int slot = 0; slot < itemHandler.getSlots() && !remaining.isEmpty(); slot++) {
+            remaining = itemHandler.insertItem(slot, remaining, true);
+        }
+        return total - remaining.getCount() > reserved;
+    }
+
+    @Override
+    public void reserve(WorldNetworkTraveller traveller) {
+        if (TeckleMod.CONFIG.endpointReservationTimeout <= 0)
+            return;
+
+        Reservation reservation = new Reservation();
+        reservation.signature = getSignature(traveller);
+        reservation.expiresAt = getNetwork().getWorld().getTotalWorldTime() + TeckleMod.CONFIG.endpointReservationTimeout;
+        reservations.put(traveller, reservation);
+    }
+
+    @Override
+    public void release(WorldNetworkTraveller traveller) {
+        reservations.remove(traveller);
+    }
+
+    /**
+     * Get the amount of the item reserved by other travellers, drops reservations that expired or whose traveller is gone.
+     *
+     * @param signature the stack tag of the item without the count.
+     * @param traveller the traveller asking, its own reservation isn't counted.
+     * @return the reserved amount.
+     */
+    private int getReservedCount(NBTTagCompound signature, WorldNetworkTraveller traveller) {
+        if (reservations.isEmpty())
+            return 0;
+
+        long worldTime = getNetwork().getWorld().getTotalWorldTime();
+        int reserved = 0;
+        Iterator<Map.Entry<WorldNetworkTraveller, Reservation>> iterator = reservations.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<WorldNetworkTraveller, Reservation> entry = iterator.next();
+            WorldNetworkTraveller reserver = entry.getKey();
+            if (worldTime >= entry.getValue().expiresAt || !(reserver.network instanceof WorldNetwork)
+                    || !((WorldNetwork) reserver.network).isTravellerPresent(reserver)) {
+                iterator.remove();
+                continue;
+            }
+
+            if (reserver != traveller && entry.getValue().signature.equals(signature))
+                reserved += reserver.data.getCompoundTag("stack").getByte("Count");
+        }
+        return reserved;
+    }
+
     @Override
     public boolean canAcceptTraveller(WorldNetworkTraveller traveller, EnumFacing from) {
         return super.canAcceptTraveller(traveller, from) && canInject(traveller, from);
     }
 
+    private NBTTagCompound getSignature(WorldNetworkTraveller traveller) {
+        NBTTagCompound signature = traveller.data.getCompoundTag("stack").copy();
+        signature.removeTag("Count");
+        return signature;
+    }
+
+    /**
+     * Get the slot hint for the given item, if it's still trusted.
+     *
+     * @param signature the stack tag of the item without the count.
+     * @return the hint, or null if the inventory has to be checked.
+     */
+    private SlotHint getSlotHint(NBTTagCompound signature) {
+        SlotHint hint = slotHints.get(signature);
+        if (hint == null)
+            return null;
+
+        if (getNetwork().getWorld().getTotalWorldTime() - hint.checkedAt >= TeckleMod.CONFIG.endpointSlotCacheTicks
+                || hint.contentsVersion != contentsVersion) {
+            slotHints.remove(signature);
+            return null;
+        }
+        return hint;
+    }
+
+    private void putSlotHint(NBTTagCompound signature, int slot) {
+        if (TeckleMod.CONFIG.endpointSlotCacheTicks <= 0)
+            return;
+
+        // Keep the hints bounded for endpoints that see lots of different items.
+        if (slotHints.size() >= 64 && !slotHints.containsKey(signature))
+            slotHints.clear();
+        SlotHint hint = new SlotHint();
+        hint.slot = slot;
+        hint.checkedAt = getNetwork().getWorld().getTotalWorldTime();
+        hint.contentsVersion = contentsVersion;
+        slotHints.put(signature, hint);
+    }
+
+    /**
+     * Signal that the inventory next to this endpoint may have changed, drops the slot hints taken before.
+     */
+    public void markContentsChanged() {
+        contentsVersion++;
+    }
+
+    private static class Reservation {
+        private NBTTagCompound signature;
+        private long expiresAt;
+    }
+
+    private static class SlotHint {
+        // The slot the item last went into, or -1 if the inventory was full for it.
+        private int slot;
+        private long checkedAt;
+        private long contentsVersion;
+    }
 }